@@ -0,0 +1,81 @@
+package br.com.erudio.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.MySQLContainer;
+
+import br.com.erudio.Startup;
+
+/**
+ * Starts the application without a web server against an in-memory H2 database in MySQL mode,
+ * migrated by Flyway like the integration suites, so service benchmarks need neither Docker nor
+ * a running MySQL.
+ * <p>
+ * Passing {@code -jvmArgsAppend -Dbenchmark.mysql.url=jdbc:mysql://...} in {@code jmh.args}
+ * runs them against that MySQL schema instead (migrated by Flyway, credentials from
+ * {@code benchmark.mysql.username} and {@code benchmark.mysql.password}, defaulting to application.yml).
+ */
+final class BenchmarkContext {
+
+	static final String MYSQL_URL = "benchmark.mysql.url";
+	static final String MYSQL_CONTAINER = "benchmark.mysql.container";
+
+	private static MySQLContainer<?> container;
+
+	private BenchmarkContext() {}
+
+	static boolean isMySql() {
+		return System.getProperty(MYSQL_URL) != null || System.getProperty(MYSQL_CONTAINER) != null;
+	}
+
+	static ConfigurableApplicationContext start(String... extraArgs) {
+		// Passed as command line arguments so they win over application.yml
+		List<String> args = new ArrayList<>(isMySql() ? mySqlArgs() : h2Args());
+		args.add("--logging.level.root=WARN");
+		args.add("--logging.level.br.com.erudio=WARN");
+		args.addAll(List.of(extraArgs));
+		return new SpringApplicationBuilder(Startup.class)
+				.web(WebApplicationType.NONE)
+				.run(args.toArray(String[]::new));
+	}
+
+	private static List<String> h2Args() {
+		return List.of(
+				"--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+				"--spring.datasource.driver-class-name=org.h2.Driver",
+				"--spring.datasource.username=sa",
+				"--spring.datasource.password=");
+	}
+
+	private static List<String> mySqlArgs() {
+		if (System.getProperty(MYSQL_CONTAINER) != null) return containerArgs();
+		List<String> args = new ArrayList<>();
+		args.add("--spring.datasource.url=" + System.getProperty(MYSQL_URL));
+		if (System.getProperty("benchmark.mysql.username") != null) {
+			args.add("--spring.datasource.username=" + System.getProperty("benchmark.mysql.username"));
+		}
+		if (System.getProperty("benchmark.mysql.password") != null) {
+			args.add("--spring.datasource.password=" + System.getProperty("benchmark.mysql.password"));
+		}
+		return args;
+	}
+
+	// One container per benchmark JVM, shared by every trial; Testcontainers removes it on exit
+	private static synchronized List<String> containerArgs() {
+		if (container == null) {
+			container = new MySQLContainer<>(System.getProperty(MYSQL_CONTAINER))
+					.withDatabaseName("rest_with_spring_boot_erudio")
+					.withUrlParam("serverTimezone", "UTC")
+					.withUrlParam("useCursorFetch", "true");
+			container.start();
+		}
+		return List.of(
+				"--spring.datasource.url=" + container.getJdbcUrl(),
+				"--spring.datasource.username=" + container.getUsername(),
+				"--spring.datasource.password=" + container.getPassword());
+	}
+}
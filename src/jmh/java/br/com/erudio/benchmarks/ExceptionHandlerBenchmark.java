@@ -0,0 +1,111 @@
+package br.com.erudio.benchmarks;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import br.com.erudio.exceptions.ResourceNotFoundException;
+import br.com.erudio.exceptions.handler.CustomizedResponseEntityExceptionHandler;
+
+/**
+ * Cost of the not-found path: building the exception and mapping it to a response.
+ * <p>
+ * The exception is thrown {@code depth} frames below the benchmark method, as it is under the
+ * filter, MVC and proxy frames of a real request. The legacy variants reproduce the previous
+ * path, a stack trace filling exception mapped to a timestamped body with the request description.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExceptionHandlerBenchmark {
+
+	private final CustomizedResponseEntityExceptionHandler handler = new CustomizedResponseEntityExceptionHandler();
+
+	@Param({"10", "150"})
+	public int depth;
+
+	private WebRequest request;
+	private ResourceNotFoundException prebuilt;
+
+	record LegacyBody(Date timestamp, String message, String details) {}
+
+	static class LegacyNotFoundException extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		LegacyNotFoundException(String message) {
+			super(message);
+		}
+	}
+
+	@Setup
+	public void setup() {
+		request = new ServletWebRequest(new MockHttpServletRequest("GET", "/person/42"));
+		prebuilt = new ResourceNotFoundException("No records found for this ID!");
+	}
+
+	@Benchmark
+	public RuntimeException createException() {
+		return at(depth, () -> new ResourceNotFoundException("No records found for this ID!"));
+	}
+
+	@Benchmark
+	public RuntimeException createLegacyException() {
+		return at(depth, () -> new LegacyNotFoundException("No records found for this ID!"));
+	}
+
+	@Benchmark
+	public ResponseEntity<?> mapException() {
+		return handler.handleNotFoundExceptions(prebuilt);
+	}
+
+	@Benchmark
+	public ResponseEntity<?> createAndMapException() {
+		try {
+			at(depth, () -> {
+				throw new ResourceNotFoundException("No records found for this ID!");
+			});
+			throw new IllegalStateException();
+		} catch (ResourceNotFoundException e) {
+			return handler.handleNotFoundExceptions(e);
+		}
+	}
+
+	@Benchmark
+	public ResponseEntity<?> createAndMapLegacyException() {
+		try {
+			at(depth, () -> {
+				throw new LegacyNotFoundException("No records found for this ID!");
+			});
+			throw new IllegalStateException();
+		} catch (LegacyNotFoundException e) {
+			return new ResponseEntity<>(
+					new LegacyBody(new Date(), e.getMessage(), request.getDescription(false)),
+					HttpStatus.NOT_FOUND);
+		}
+	}
+
+	private static RuntimeException at(int depth, Supplier<RuntimeException> action) {
+		return depth == 0 ? action.get() : at(depth - 1, action);
+	}
+}
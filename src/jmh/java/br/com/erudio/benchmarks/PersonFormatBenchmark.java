@@ -0,0 +1,133 @@
+package br.com.erudio.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+
+import br.com.erudio.dto.PersonDTO;
+import br.com.erudio.model.Person;
+import br.com.erudio.serialization.converter.PersonProtobufHttpMessageConverter;
+
+/**
+ * Encode and decode cost of a list page (the default 50 people) in every format the person
+ * endpoints negotiate. The encoded page size is reported next to the encode score, as its
+ * {@code bytes} secondary result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersonFormatBenchmark {
+
+	private static final int PAGE_SIZE = 50;
+
+	@Param({"json", "cbor", "smile", "protobuf"})
+	public String format;
+
+	private Codec codec;
+	private List<PersonDTO> page;
+	private byte[] encoded;
+
+	private interface Codec {
+
+		byte[] encode(List<PersonDTO> people) throws IOException;
+
+		List<?> decode(byte[] body) throws IOException;
+	}
+
+	private record JacksonCodec(ObjectMapper mapper) implements Codec {
+
+		private static final TypeReference<List<PersonDTO>> PAGE = new TypeReference<>() {};
+
+		@Override
+		public byte[] encode(List<PersonDTO> people) throws IOException {
+			return mapper.writeValueAsBytes(people);
+		}
+
+		@Override
+		public List<?> decode(byte[] body) throws IOException {
+			return mapper.readValue(body, PAGE);
+		}
+	}
+
+	// Same calls the HTTP converter makes, minus the servlet streams
+	private record ProtobufCodec() implements Codec {
+
+		@Override
+		public byte[] encode(List<PersonDTO> people) throws IOException {
+			ByteArrayOutputStream body = new ByteArrayOutputStream();
+			CodedOutputStream out = CodedOutputStream.newInstance(body);
+			PersonProtobufHttpMessageConverter.writePeople(people, out);
+			out.flush();
+			return body.toByteArray();
+		}
+
+		@Override
+		public List<Person> decode(byte[] body) throws IOException {
+			return PersonProtobufHttpMessageConverter.readPeople(CodedInputStream.newInstance(body));
+		}
+	}
+
+	// EVENTS counters are reported as they are, so bytes is the size of the last encoded page
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class Payload {
+
+		public long bytes;
+	}
+
+	@Setup
+	public void setup() throws Exception {
+		// Same builder defaults Spring MVC applies to the JSON, CBOR and Smile converters
+		codec = switch (format) {
+			case "json" -> new JacksonCodec(Jackson2ObjectMapperBuilder.json().build());
+			case "cbor" -> new JacksonCodec(Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build());
+			case "smile" -> new JacksonCodec(Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build());
+			case "protobuf" -> new ProtobufCodec();
+			default -> throw new IllegalArgumentException("Unknown format: " + format);
+		};
+		page = new ArrayList<>(PAGE_SIZE);
+		for (int i = 0; i < PAGE_SIZE; i++) {
+			page.add(new PersonDTO(100_000L + i, "Leandro" + i, "Costa", "Uberlândia - Minas Gerais - Brasil",
+					i % 2 == 0 ? "Male" : "Female", "leandro" + i + "@erudio.com.br", (long) i % 5));
+		}
+		encoded = codec.encode(page);
+	}
+
+	@Benchmark
+	public byte[] encode(Payload payload) throws IOException {
+		byte[] body = codec.encode(page);
+		payload.bytes = body.length;
+		return body;
+	}
+
+	@Benchmark
+	public List<?> decode() throws IOException {
+		return codec.decode(encoded);
+	}
+}
@@ -0,0 +1,109 @@
+package br.com.erudio.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+
+import br.com.erudio.dto.PersonDTO;
+import br.com.erudio.model.Person;
+import br.com.erudio.repositories.PersonRepository;
+import br.com.erudio.services.PersonServices;
+
+/**
+ * The JDBC path with the default pool and driver settings against the prod profile
+ * (application-prod.yml), from 8 threads so the pool is contended.
+ * <p>
+ * The Connector/J statement cache and batch rewriting only show against MySQL, see
+ * {@link BenchmarkContext} for {@code benchmark.mysql.url} and {@code benchmark.mysql.container};
+ * on the H2 stand-in only the pool and Hibernate settings differ.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class PersonJdbcBenchmark {
+
+	private static final int ROWS = 5_000;
+	private static final int BATCH = 200;
+
+	@Param({"default", "prod"})
+	public String profile;
+
+	private final AtomicLong sequence = new AtomicLong();
+
+	private ConfigurableApplicationContext context;
+	private PersonServices services;
+	private PersonRepository repository;
+	private List<Long> ids;
+
+	@Setup
+	public void setup() {
+		context = "prod".equals(profile)
+				? BenchmarkContext.start("--spring.profiles.active=prod")
+				: BenchmarkContext.start();
+		services = context.getBean(PersonServices.class);
+		repository = context.getBean(PersonRepository.class);
+
+		services.createAll(people(ROWS).iterator());
+		ids = repository.findDTOsByIdGreaterThan(0L, Limit.of(ROWS)).stream().map(PersonDTO::id).toList();
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	// Primary key lookup through the repository, so the person cache stays out of the way
+	@Benchmark
+	public Person findById() {
+		return repository.findById(ids.get(random(ids.size()))).orElseThrow();
+	}
+
+	// IN lists of 1 to 40 ids, a new statement per length unless the parameters are padded
+	@Benchmark
+	public List<PersonDTO> findByIds() {
+		int size = 1 + random(40);
+		int from = random(ids.size() - size);
+		return repository.findDTOsByIdIn(ids.subList(from, from + size));
+	}
+
+	@Benchmark
+	public int createBatch() {
+		return services.createAll(people(BATCH).iterator());
+	}
+
+	private static int random(int bound) {
+		return ThreadLocalRandom.current().nextInt(bound);
+	}
+
+	private List<Person> people(int count) {
+		List<Person> people = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			long n = sequence.incrementAndGet();
+			people.add(new Person("First" + n, "Last" + n, "jdbc" + n + "@erudio.com.br",
+					"Minas Gerais", n % 2 == 0 ? "Male" : "Female"));
+		}
+		return people;
+	}
+}
@@ -0,0 +1,52 @@
+package br.com.erudio.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.erudio.model.Person;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersonJsonBenchmark {
+
+	// Same defaults Spring MVC applies to its ObjectMapper
+	private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+
+	private Person person;
+	private byte[] json;
+
+	@Setup
+	public void setup() throws Exception {
+		person = new Person(1L, "Leandro", "Costa", "leandro@erudio.com.br",
+				"Uberlândia - Minas Gerais - Brasil", "Male");
+		person.setVersion(3L);
+		json = mapper.writeValueAsBytes(person);
+	}
+
+	@Benchmark
+	public byte[] serialize() throws Exception {
+		return mapper.writeValueAsBytes(person);
+	}
+
+	@Benchmark
+	public Person deserialize() throws Exception {
+		return mapper.readValue(json, Person.class);
+	}
+}
@@ -0,0 +1,109 @@
+package br.com.erudio.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+
+import br.com.erudio.dto.PersonDTO;
+import br.com.erudio.model.Person;
+import br.com.erudio.services.PersonServices;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * GET /person/search through the in-memory index against the {@code LIKE '%q%'} scan it replaces.
+ * Both return the first page of full rows and the total the endpoint reports
+ * in X-Total-Count; run with {@code -Dbenchmark.mysql.url} (see
+ * {@link BenchmarkContext}) for numbers on MySQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersonSearchBenchmark {
+
+	private static final String[] FIRST_NAMES = {"Leandro", "Maria", "Ayrton", "Ana", "João", "Beatriz", "Carlos", "Fernanda"};
+	private static final String[] LAST_NAMES = {"Costa", "Silva", "Souza", "Oliveira", "Pereira", "Lima", "Gomes", "Ribeiro"};
+	private static final String[] CITIES = {"Uberlândia", "São Paulo", "Belo Horizonte", "Curitiba", "Recife", "Manaus"};
+
+	private static final String LIKE_FILTER = " from Person p where lower(p.firstName) like :q"
+			+ " or lower(p.lastName) like :q or lower(p.email) like :q or lower(p.address) like :q";
+
+	@Param({"10000"})
+	public int rows;
+
+	@Param({"cost", "ribeiro curitiba", "person9999"})
+	public String query;
+
+	private ConfigurableApplicationContext context;
+	private PersonServices services;
+	private EntityManagerFactory entityManagerFactory;
+	private String likeTerm;
+
+	@Setup
+	public void setup() {
+		context = BenchmarkContext.start();
+		services = context.getBean(PersonServices.class);
+		entityManagerFactory = context.getBean(EntityManagerFactory.class);
+
+		// Unique per run so the e-mail index does not reject a second run on the same MySQL schema
+		String run = Long.toString(System.currentTimeMillis(), 36);
+		List<Person> people = new ArrayList<>(rows);
+		for (int i = 0; i < rows; i++) {
+			people.add(new Person(FIRST_NAMES[i % FIRST_NAMES.length], LAST_NAMES[(i / 8) % LAST_NAMES.length],
+					"person" + i + "." + run + "@erudio.com.br", "Rua " + i + " - " + CITIES[i % CITIES.length],
+					i % 2 == 0 ? "Male" : "Female"));
+		}
+		services.createAll(people.iterator());
+
+		// LIKE only handles one term; the longest one is the most selective
+		String longest = query.split(" ")[0];
+		for (String term : query.split(" ")) {
+			if (term.length() > longest.length()) longest = term;
+		}
+		likeTerm = "%" + longest + "%";
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Page<PersonDTO> searchIndex() {
+		return services.search(query, 0, PersonServices.DEFAULT_PAGE_SIZE);
+	}
+
+	@Benchmark
+	public void searchLike(Blackhole blackhole) {
+		var entityManager = entityManagerFactory.createEntityManager();
+		try {
+			blackhole.consume(entityManager.createQuery("select p" + LIKE_FILTER + " order by p.id", Person.class)
+					.setParameter("q", likeTerm)
+					.setMaxResults(PersonServices.DEFAULT_PAGE_SIZE)
+					.getResultList());
+			blackhole.consume(entityManager.createQuery("select count(p)" + LIKE_FILTER, Long.class)
+					.setParameter("q", likeTerm)
+					.getSingleResult());
+		} finally {
+			entityManager.close();
+		}
+	}
+}
@@ -0,0 +1,77 @@
+package br.com.erudio.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Slice;
+
+import br.com.erudio.dto.PersonDTO;
+import br.com.erudio.model.Person;
+import br.com.erudio.repositories.PersonRepository;
+import br.com.erudio.services.PersonServices;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersonServicesBenchmark {
+
+	private static final int ROWS = 1_000;
+
+	private ConfigurableApplicationContext context;
+	private PersonServices services;
+	private PersonRepository repository;
+	private Person existing;
+
+	@Setup
+	public void setup() {
+		context = BenchmarkContext.start();
+		services = context.getBean(PersonServices.class);
+		repository = context.getBean(PersonRepository.class);
+
+		for (int i = 0; i < ROWS; i++) {
+			existing = repository.save(new Person("First" + i, "Last" + i,
+					"person" + i + "@erudio.com.br", "Minas Gerais", i % 2 == 0 ? "Male" : "Female"));
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Person findByIdCached() {
+		return services.findById(existing.getId());
+	}
+
+	@Benchmark
+	public Person findByIdUncached() {
+		return repository.findById(existing.getId()).orElseThrow();
+	}
+
+	@Benchmark
+	public Slice<PersonDTO> findFirstPage() {
+		return services.findAll(null, PersonServices.DEFAULT_PAGE_SIZE);
+	}
+
+	@Benchmark
+	public Person update() {
+		Person changed = new Person(existing.getId(), existing.getFirstName(), existing.getLastName(),
+				existing.getEmail(), existing.getAddress(), existing.getGender());
+		return services.update(changed);
+	}
+}
@@ -0,0 +1,182 @@
+package br.com.erudio.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time from launching the application JVM to the first successful {@code GET /person/1}, for the
+ * jar built by the aot profile started plainly (jit), with Spring AOT bean definitions (aot), and
+ * each of those with a Class Data Sharing archive from a training run (cds, aot-cds). Needs that jar:
+ * <pre>
+ * mvn -Paot,jmh -DskipTests -Daot.training.skip=true verify -Djmh.args="StartupBenchmark"
+ * </pre>
+ * The instances run against an H2 file database in MySQL mode, migrated and seeded here, with H2
+ * taken from this JVM's class path since the jar's lib/ only has the runtime dependencies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StartupBenchmark {
+
+	private static final Path AOT_DIR = Path.of("target", "aot");
+	private static final long STARTUP_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(3);
+	private static final long POLL_MILLIS = 25;
+
+	@Param({"jit", "aot", "cds", "aot-cds"})
+	public String mode;
+
+	private final HttpClient client = HttpClient.newHttpClient();
+
+	private Path workDir;
+	private String classPath;
+	private String databaseUrl;
+	private Path archive;
+	private Process process;
+
+	@Setup
+	public void setup() throws Exception {
+		Path jar = findAotJar();
+		workDir = Files.createTempDirectory("startup-benchmark");
+		classPath = jar.toAbsolutePath() + File.pathSeparator + findOnClassPath("h2-");
+		databaseUrl = "jdbc:h2:file:" + workDir.resolve("db").toAbsolutePath() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE";
+		seedDatabase();
+
+		if (mode.endsWith("cds")) {
+			// The archive is only used by JVMs with the same class path and the same AOT mode
+			archive = workDir.resolve("application.jsa");
+			List<String> command = command(
+					List.of("-XX:ArchiveClassesAtExit=" + archive, "-Dspring.context.exit=onRefresh"), List.of());
+			Process training = new ProcessBuilder(command)
+					.redirectErrorStream(true)
+					.redirectOutput(workDir.resolve("training.log").toFile())
+					.start();
+			if (!training.waitFor(STARTUP_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS) || !Files.exists(archive)) {
+				training.destroyForcibly();
+				throw new IllegalStateException("CDS training run failed, see " + workDir.resolve("training.log"));
+			}
+		}
+	}
+
+	@TearDown(Level.Invocation)
+	public void stopInstance() throws InterruptedException {
+		if (process != null) {
+			process.destroy();
+			if (!process.waitFor(30, TimeUnit.SECONDS)) process.destroyForcibly().waitFor();
+			process = null;
+		}
+	}
+
+	@Benchmark
+	public int firstRequest() throws Exception {
+		int port = freePort();
+		List<String> command = command(
+				archive == null ? List.of() : List.of("-XX:SharedArchiveFile=" + archive),
+				List.of("--server.port=" + port));
+		process = new ProcessBuilder(command)
+				.redirectErrorStream(true)
+				.redirectOutput(workDir.resolve("instance.log").toFile())
+				.start();
+
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/person/1"))
+				.header("Accept", "application/json")
+				.build();
+		long deadline = System.currentTimeMillis() + STARTUP_TIMEOUT_MILLIS;
+		while (System.currentTimeMillis() < deadline) {
+			if (!process.isAlive()) {
+				throw new IllegalStateException("Instance exited, see " + workDir.resolve("instance.log"));
+			}
+			try {
+				HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+				if (response.statusCode() == 200) return response.statusCode();
+			} catch (ConnectException e) {
+				// Not listening yet
+			}
+			Thread.sleep(POLL_MILLIS);
+		}
+		throw new IllegalStateException("No successful response within " + STARTUP_TIMEOUT_MILLIS + " ms");
+	}
+
+	private List<String> command(List<String> jvmOptions, List<String> arguments) {
+		List<String> command = new ArrayList<>();
+		command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+		command.add("-Xlog:cds=error");
+		if (mode.startsWith("aot")) command.add("-Dspring.aot.enabled=true");
+		command.addAll(jvmOptions);
+		command.add("-cp");
+		command.add(classPath);
+		command.add("br.com.erudio.Startup");
+		command.add("--spring.datasource.url=" + databaseUrl);
+		command.add("--spring.datasource.driver-class-name=org.h2.Driver");
+		command.add("--spring.datasource.username=sa");
+		command.add("--spring.datasource.password=");
+		command.addAll(arguments);
+		return command;
+	}
+
+	private void seedDatabase() throws SQLException {
+		Flyway.configure().dataSource(databaseUrl, "sa", "").load().migrate();
+		try (Connection connection = DriverManager.getConnection(databaseUrl, "sa", "");
+				Statement statement = connection.createStatement()) {
+			statement.executeUpdate("insert into person (id, first_name, last_name, email, address, gender, version) "
+					+ "values (1, 'Ayrton', 'Senna', 'senna@erudio.com.br', 'São Paulo', 'Male', 0)");
+		}
+	}
+
+	private static Path findAotJar() throws IOException {
+		if (!Files.isDirectory(AOT_DIR)) {
+			throw new IllegalStateException(AOT_DIR + " is missing, build it with -Paot");
+		}
+		try (var files = Files.list(AOT_DIR)) {
+			return files.filter(file -> file.getFileName().toString().endsWith("-aot.jar"))
+					.findFirst()
+					.orElseThrow(() -> new IllegalStateException("No -aot.jar in " + AOT_DIR + ", build it with -Paot"));
+		}
+	}
+
+	private static String findOnClassPath(String prefix) {
+		return Arrays.stream(System.getProperty("java.class.path").split(File.pathSeparator))
+				.filter(entry -> Path.of(entry).getFileName().toString().startsWith(prefix))
+				.findFirst()
+				.orElseThrow(() -> new IllegalStateException(prefix + "*.jar is not on the class path"));
+	}
+
+	private static int freePort() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+}
@@ -0,0 +1,14 @@
+package br.com.erudio.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// Ahead of the transaction advice, so cache hits and callers waiting on another caller's load
+// (PersonServices.findById) never take a connection from the pool
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    public static final String PERSON_CACHE = "person";
+}
@@ -0,0 +1,18 @@
+package br.com.erudio.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    public static final String PERSON_SERVICE_TIMER = "person.service";
+
+    // Records @Timed methods; the percentiles and histogram buckets are set in application.yml
+    @Bean
+    TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.erudio.config;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import br.com.erudio.ratelimit.AdaptiveConcurrencyLimiter;
+import br.com.erudio.ratelimit.RateLimitFilter;
+import br.com.erudio.ratelimit.StripedTokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(prefix = "app.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    public static final String REJECTED_REQUESTS_COUNTER = "person.requests.rejected";
+    public static final String CONCURRENCY_LIMIT_GAUGE = "person.concurrency.limit";
+    public static final String IN_FLIGHT_GAUGE = "person.concurrency.in.flight";
+
+    @Bean
+    FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimitProperties properties, MeterRegistry registry,
+            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver) {
+        List<RateLimitFilter.Rule> rules = new ArrayList<>();
+        for (Map.Entry<String, RateLimitProperties.Endpoint> entry : properties.endpoints().entrySet()) {
+            rules.add(rule(entry.getKey(), entry.getValue(), properties.stripes(), registry));
+        }
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(
+                new RateLimitFilter(rules, properties.clientHeader(), exceptionResolver));
+        registration.addUrlPatterns("/person", "/person/*");
+        return registration;
+    }
+
+    private static RateLimitFilter.Rule rule(String name, RateLimitProperties.Endpoint endpoint, int stripes,
+            MeterRegistry registry) {
+        Set<String> methods = new HashSet<>();
+        endpoint.methods().forEach(method -> methods.add(method.toUpperCase()));
+
+        StripedTokenBucket rate = endpoint.permitsPerSecond() > 0
+                ? new StripedTokenBucket(endpoint.permitsPerSecond(), endpoint.burst(), stripes)
+                : null;
+
+        AdaptiveConcurrencyLimiter concurrency = null;
+        if (endpoint.maxConcurrency() > 0) {
+            concurrency = new AdaptiveConcurrencyLimiter(endpoint.maxConcurrency(), endpoint.minConcurrency(),
+                    endpoint.maxConcurrency(), endpoint.latencyTolerance());
+            Gauge.builder(CONCURRENCY_LIMIT_GAUGE, concurrency, AdaptiveConcurrencyLimiter::limit)
+                    .tag("endpoint", name)
+                    .register(registry);
+            Gauge.builder(IN_FLIGHT_GAUGE, concurrency, AdaptiveConcurrencyLimiter::inFlight)
+                    .tag("endpoint", name)
+                    .register(registry);
+        }
+
+        return new RateLimitFilter.Rule(name, methods, PathPatternParser.defaultInstance.parse(endpoint.path()),
+                Set.copyOf(endpoint.params()), rate, concurrency, rejections(registry, name, "rate"), rejections(registry, name, "concurrency"));
+    }
+
+    private static Counter rejections(MeterRegistry registry, String endpoint, String limiter) {
+        return Counter.builder(REJECTED_REQUESTS_COUNTER)
+                .description("Requests answered 429 by the rate or concurrency limiter")
+                .tag("endpoint", endpoint)
+                .tag("limiter", limiter)
+                .register(registry);
+    }
+}
@@ -0,0 +1,32 @@
+package br.com.erudio.config;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Limits on the /person API. Each request is checked against the first endpoint, in
+ * declaration order, whose methods (empty meaning any), path pattern and required request
+ * parameters match it.
+ * A zero permits-per-second or max-concurrency leaves that limiter off for the endpoint.
+ * Clients are told apart by their remote address, or by {@code clientHeader} when it is set.
+ */
+@ConfigurationProperties("app.rate-limit")
+public record RateLimitProperties(
+		@DefaultValue("true") boolean enabled,
+		String clientHeader,
+		@DefaultValue("4096") int stripes,
+		@DefaultValue Map<String, Endpoint> endpoints) {
+
+	public record Endpoint(
+			@DefaultValue List<String> methods,
+			String path,
+			@DefaultValue List<String> params,
+			double permitsPerSecond,
+			@DefaultValue("1") int burst,
+			int maxConcurrency,
+			@DefaultValue("1") int minConcurrency,
+			@DefaultValue("2.0") double latencyTolerance) {}
+}
@@ -0,0 +1,123 @@
+package br.com.erudio.config;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+/**
+ * Read side of the replicas profile: hands out connections from the replicas round-robin.
+ * A replica whose pool fails to produce a connection is ejected and skipped until the
+ * background health check gets a valid connection from it again. With no healthy replica
+ * left, or when {@link ReplicaRouting} pins the primary, connections come from the primary.
+ */
+public class ReplicaDataSource extends AbstractDataSource implements Closeable {
+
+	private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+
+	private Logger logger = Logger.getLogger(ReplicaDataSource.class.getName());
+
+	private final DataSource primary;
+	private final List<Replica> replicas = new ArrayList<>();
+	private final AtomicInteger next = new AtomicInteger();
+	private final ScheduledExecutorService healthCheck;
+
+	private static final class Replica {
+
+		private final String name;
+		private final DataSource dataSource;
+		private volatile boolean healthy = true;
+
+		private Replica(String name, DataSource dataSource) {
+			this.name = name;
+			this.dataSource = dataSource;
+		}
+	}
+
+	public ReplicaDataSource(DataSource primary, Map<String, DataSource> replicas, Duration healthCheckInterval) {
+		this.primary = primary;
+		replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+		this.healthCheck = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "replica-health-check");
+			thread.setDaemon(true);
+			return thread;
+		});
+		long interval = healthCheckInterval.toMillis();
+		healthCheck.scheduleWithFixedDelay(this::checkEjected, interval, interval, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		int size = replicas.size();
+		if (size > 0 && !ReplicaRouting.isPrimaryPinned()) {
+			int start = Math.floorMod(next.getAndIncrement(), size);
+			for (int i = 0; i < size; i++) {
+				Replica replica = replicas.get((start + i) % size);
+				if (!replica.healthy) continue;
+				try {
+					return replica.dataSource.getConnection();
+				} catch (SQLException e) {
+					eject(replica, e);
+				}
+			}
+		}
+		return primary.getConnection();
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Replica credentials come from app.datasource.replicas");
+	}
+
+	public int healthyReplicas() {
+		return (int) replicas.stream().filter(replica -> replica.healthy).count();
+	}
+
+	// Only probes ejected replicas; healthy ones are exercised by the traffic itself
+	void checkEjected() {
+		for (Replica replica : replicas) {
+			if (replica.healthy) continue;
+			try (Connection connection = replica.dataSource.getConnection()) {
+				if (connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+					replica.healthy = true;
+					logger.info("Replica " + replica.name + " is back in rotation!");
+				}
+			} catch (SQLException e) {
+				// Still down, try again on the next round
+			}
+		}
+	}
+
+	private void eject(Replica replica, SQLException cause) {
+		replica.healthy = false;
+		logger.log(Level.WARNING, "Ejecting replica " + replica.name + ": " + cause.getMessage());
+	}
+
+	@Override
+	public void close() {
+		healthCheck.shutdownNow();
+		for (Replica replica : replicas) {
+			if (replica.dataSource instanceof AutoCloseable closeable) {
+				try {
+					closeable.close();
+				} catch (Exception e) {
+					logger.log(Level.WARNING, "Failed to close replica " + replica.name, e);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,63 @@
+package br.com.erudio.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Sends read-only transactions to the read replicas and everything else to spring.datasource.
+ */
+@Configuration
+@Profile("replicas")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    ReplicaDataSource replicaDataSource(HikariDataSource primaryDataSource, DataSourceProperties properties,
+            ReplicaProperties replicaProperties) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (ReplicaProperties.Replica replica : replicaProperties.replicas()) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("replica-" + replicas.size());
+            dataSource.setJdbcUrl(replica.url());
+            dataSource.setUsername(replica.username() != null ? replica.username() : properties.determineUsername());
+            dataSource.setPassword(replica.password() != null ? replica.password() : properties.determinePassword());
+            dataSource.setMaximumPoolSize(replicaProperties.replicaMaximumPoolSize());
+            dataSource.setConnectionTimeout(replicaProperties.replicaConnectionTimeout().toMillis());
+            // Same driver tuning and auto-commit mode as the primary, which Hibernate relies on
+            dataSource.setDataSourceProperties(primaryDataSource.getDataSourceProperties());
+            dataSource.setAutoCommit(primaryDataSource.isAutoCommit());
+            replicas.put(dataSource.getPoolName(), dataSource);
+        }
+        return new ReplicaDataSource(primaryDataSource, replicas, replicaProperties.healthCheckInterval());
+    }
+
+    // Hibernate takes a connection as soon as a transaction begins, before the read-only flag is
+    // applied; the lazy proxy defers it to the first statement and then picks the replica side
+    // for read-only transactions
+    @Bean
+    @Primary
+    DataSource dataSource(HikariDataSource primaryDataSource, ReplicaDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.erudio.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Read replicas used by the replicas profile. Username and password default to the
+ * primary's; the short connection timeout lets a dead replica be ejected quickly
+ * instead of stalling reads for Hikari's default 30 seconds.
+ */
+@ConfigurationProperties("app.datasource")
+public record ReplicaProperties(
+		@DefaultValue List<Replica> replicas,
+		@DefaultValue("5s") Duration healthCheckInterval,
+		@DefaultValue("1s") Duration replicaConnectionTimeout,
+		@DefaultValue("10") int replicaMaximumPoolSize) {
+
+	public record Replica(String url, String username, String password) {}
+}
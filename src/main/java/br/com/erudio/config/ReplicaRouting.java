@@ -0,0 +1,29 @@
+package br.com.erudio.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Lets a read-only unit of work opt out of the replicas, for reads that must see the
+ * caller's own latest write. Only has an effect under the replicas profile, and only
+ * before the transaction has run its first statement.
+ */
+public final class ReplicaRouting {
+
+	private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+
+	private ReplicaRouting() {}
+
+	public static <T> T onPrimaryIf(boolean condition, Supplier<T> work) {
+		if (!condition || isPrimaryPinned()) return work.get();
+		PRIMARY_PINNED.set(Boolean.TRUE);
+		try {
+			return work.get();
+		} finally {
+			PRIMARY_PINNED.remove();
+		}
+	}
+
+	public static boolean isPrimaryPinned() {
+		return PRIMARY_PINNED.get() != null;
+	}
+}
@@ -0,0 +1,46 @@
+package br.com.erudio.config;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import br.com.erudio.serialization.converter.PersonProtobufHttpMessageConverter;
+
+/**
+ * Binary representations next to JSON, picked through Accept / Content-Type. CBOR and Smile
+ * reuse the Boot configured Jackson builder, so they map exactly like the JSON endpoints.
+ * <p>
+ * Protobuf goes after the defaults rather than in front of them, where Boot puts converter beans
+ * it has no slot for: error bodies carry no produces order, so the first converter able to write
+ * a {@link org.springframework.http.ProblemDetail} answers {@code Accept: *}{@code /*}.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final String APPLICATION_PROTOBUF_VALUE = PersonProtobufHttpMessageConverter.APPLICATION_PROTOBUF_VALUE;
+
+    @Bean
+    MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.createXmlMapper(false).factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.createXmlMapper(false).factory(new SmileFactory()).build());
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new PersonProtobufHttpMessageConverter());
+    }
+}
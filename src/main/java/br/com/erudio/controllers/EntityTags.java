@@ -0,0 +1,32 @@
+package br.com.erudio.controllers;
+
+import br.com.erudio.exceptions.PreconditionFailedException;
+
+/**
+ * Maps the {@code Person} version to a strong HTTP entity tag and back.
+ */
+final class EntityTags {
+
+	private EntityTags() {}
+
+	static String of(Long version) {
+		return version == null ? null : "\"" + version + "\"";
+	}
+
+	/**
+	 * Reads the version out of an {@code If-Match} header, {@code null} meaning "any version".
+	 */
+	static Long parseIfMatch(String ifMatch) {
+		if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) return null;
+		String tag = ifMatch.trim();
+		if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+			// Weak or malformed tags never match under strong comparison
+			throw new PreconditionFailedException("If-Match does not match the current entity tag!");
+		}
+		try {
+			return Long.valueOf(tag.substring(1, tag.length() - 1));
+		} catch (NumberFormatException e) {
+			throw new PreconditionFailedException("If-Match does not match the current entity tag!");
+		}
+	}
+}
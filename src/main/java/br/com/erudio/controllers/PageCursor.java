@@ -0,0 +1,33 @@
+package br.com.erudio.controllers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import br.com.erudio.exceptions.BadRequestException;
+
+/**
+ * Opaque cursor used by the keyset pagination of {@code GET /person}.
+ * It wraps the last id returned so clients never depend on its format.
+ */
+final class PageCursor {
+
+	private static final String PREFIX = "id:";
+
+	private PageCursor() {}
+
+	static String encode(Long lastId) {
+		return Base64.getUrlEncoder().withoutPadding()
+				.encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+	}
+
+	static Long decode(String cursor) {
+		if (cursor == null || cursor.isBlank()) return null;
+		try {
+			String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			if (!value.startsWith(PREFIX)) throw new IllegalArgumentException();
+			return Long.valueOf(value.substring(PREFIX.length()));
+		} catch (IllegalArgumentException e) {
+			throw new BadRequestException("Invalid cursor: " + cursor);
+		}
+	}
+}
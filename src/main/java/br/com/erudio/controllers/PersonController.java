@@ -1,8 +1,18 @@
 package br.com.erudio.controllers;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -11,54 +21,225 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.erudio.config.WebConfig;
+import br.com.erudio.dto.BatchResult;
+import br.com.erudio.dto.PersonChangeDTO;
+import br.com.erudio.dto.PersonDTO;
+import br.com.erudio.dto.PersonLookup;
+import br.com.erudio.dto.WriteStatus;
+import br.com.erudio.dto.WriteStatus.Operation;
 import br.com.erudio.model.Person;
+import br.com.erudio.services.PersonChangeFeed;
 import br.com.erudio.services.PersonServices;
+import br.com.erudio.services.PersonWriteBehind;
 
+@Profile("!reactive")
 @RestController
 @RequestMapping("/person")
 public class PersonController {
 	
+	public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+	public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+	public static final String MISSING_IDS_HEADER = "X-Missing-Ids";
+	public static final String PREFERENCE_APPLIED_HEADER = "Preference-Applied";
+	public static final String RESPOND_ASYNC = "respond-async";
+	
 	@Autowired
 	private PersonServices service;
 	
-	@GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-	public List<Person> findAll() {
-		return service.findAll();
+	@Autowired
+	private ObjectMapper mapper;
+	
+	@Autowired
+	private PersonChangeFeed changeFeed;
+	
+	@Autowired(required = false)
+	private PersonWriteBehind writeBehind;
+	
+	// fields=firstName,email returns only those columns (plus id) for each person
+	@GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+			WebConfig.APPLICATION_SMILE_VALUE, WebConfig.APPLICATION_PROTOBUF_VALUE})
+	public ResponseEntity<List<?>> findAll(
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "size", defaultValue = "" + PersonServices.DEFAULT_PAGE_SIZE) int size,
+			@RequestParam(value = "fields", required = false) List<String> fields) {
+		
+		Long lastId = PageCursor.decode(cursor);
+		if (fields == null || fields.isEmpty()) {
+			return withCursor(service.findAll(lastId, size), PersonDTO::id);
+		}
+		return withCursor(service.findAll(lastId, size, fields), row -> (Long) row.get("id"));
 	}
 	
-	@GetMapping(value = "/{id}",
-			produces = MediaType.APPLICATION_JSON_VALUE)
-	public ResponseEntity<Person> findById(@PathVariable(value = "id") Long id) {
-		try {
-			return ResponseEntity.ok(service.findById(id));
-		} catch (Exception e) {
-			return ResponseEntity.notFound().build();
+	// ids=1,2,3 returns those people in one call, in request order; ids with no person are listed
+	// in X-Missing-Ids instead of failing the request
+	@GetMapping(params = "ids",
+			produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+					WebConfig.APPLICATION_SMILE_VALUE, WebConfig.APPLICATION_PROTOBUF_VALUE})
+	public ResponseEntity<List<Person>> findByIds(@RequestParam(value = "ids") List<Long> ids) {
+		PersonLookup lookup = service.findByIds(ids);
+		var response = ResponseEntity.ok();
+		if (!lookup.missing().isEmpty()) {
+			response.header(MISSING_IDS_HEADER,
+					lookup.missing().stream().map(String::valueOf).collect(Collectors.joining(",")));
 		}
+		return response.body(lookup.found());
 	}
 	
-	@PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE,
+	// Ordered feed of creates, updates and deletes; pass the position of the last change seen as since.
+	// 410 when changes after since have expired, and the consumer has to resync from GET /person
+	@GetMapping(value = "/changes",
 			produces = MediaType.APPLICATION_JSON_VALUE)
-	public Person create(@RequestBody Person person) {
-		return service.create(person);
+	public List<PersonChangeDTO> changes(
+			@RequestParam(value = "since", defaultValue = "0") long since,
+			@RequestParam(value = "size", defaultValue = "" + PersonServices.DEFAULT_PAGE_SIZE) int size) {
+		return changeFeed.changes(since, size);
 	}
 	
-	@PutMapping(consumes = MediaType.APPLICATION_JSON_VALUE,
+	// The same feed as Server-Sent Events with the position as event id, so a reconnecting EventSource
+	// resumes through Last-Event-ID. Without either, it starts with the next change
+	@GetMapping(value = "/changes/stream",
+			produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public SseEmitter streamChanges(
+			@RequestParam(value = "since", required = false) Long since,
+			@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+		return changeFeed.subscribe(lastEventId != null ? lastEventId : since);
+	}
+	
+	// Ranked by relevance, so it pages by number instead of by cursor
+	@GetMapping(value = "/search",
+			produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+					WebConfig.APPLICATION_SMILE_VALUE, WebConfig.APPLICATION_PROTOBUF_VALUE})
+	public ResponseEntity<List<?>> search(
+			@RequestParam(value = "q") String query,
+			@RequestParam(value = "page", defaultValue = "0") int page,
+			@RequestParam(value = "size", defaultValue = "" + PersonServices.DEFAULT_PAGE_SIZE) int size,
+			@RequestParam(value = "fields", required = false) List<String> fields) {
+		
+		Page<?> results = fields == null || fields.isEmpty()
+				? service.search(query, page, size)
+				: service.search(query, page, size, fields);
+		return ResponseEntity.ok()
+				.header(TOTAL_COUNT_HEADER, String.valueOf(results.getTotalElements()))
+				.body(results.getContent());
+	}
+	
+	@GetMapping(value = "/export",
+			produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> export() {
+		StreamingResponseBody body = out -> service.export(person -> {
+			try {
+				out.write(mapper.writeValueAsBytes(person));
+				out.write('\n');
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.body(body);
+	}
+	
+	@GetMapping(value = "/{id}",
+			produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+					WebConfig.APPLICATION_SMILE_VALUE, WebConfig.APPLICATION_PROTOBUF_VALUE})
+	public ResponseEntity<Person> findById(@PathVariable(value = "id") Long id) {
+		// With an ETag on a 200 GET, Spring answers a matching If-None-Match with 304 and skips the body
+		// One tag covers every representation, so caches must keep them apart by Accept
+		Person person = service.findById(id);
+		return ResponseEntity.ok()
+				.eTag(EntityTags.of(person.getVersion()))
+				.varyBy(HttpHeaders.ACCEPT)
+				.body(person);
+	}
+	
+	@PostMapping(consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+					WebConfig.APPLICATION_SMILE_VALUE, WebConfig.APPLICATION_PROTOBUF_VALUE},
+			produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+					WebConfig.APPLICATION_SMILE_VALUE, WebConfig.APPLICATION_PROTOBUF_VALUE})
+	public ResponseEntity<?> create(@RequestBody Person person,
+			@RequestHeader(value = "Prefer", required = false) String prefer) {
+		if (respondAsync(prefer)) return accepted(writeBehind.submit(Operation.CREATE, person));
+		return ResponseEntity.ok(service.create(person));
+	}
+	
+	// Reads the JSON array element by element so very large payloads are never fully materialized
+	@PostMapping(value = "/batch",
+			consumes = MediaType.APPLICATION_JSON_VALUE,
 			produces = MediaType.APPLICATION_JSON_VALUE)
-	public ResponseEntity<Person> update(@RequestBody Person person) {
-		try {
-			return ResponseEntity.ok(service.update(person));
-		} catch (Exception e) {
-			return ResponseEntity.notFound().build();
+	public BatchResult createAll(InputStream body) throws IOException {
+		try (var people = mapper.readerFor(Person.class).<Person>readValues(body)) {
+			return new BatchResult(service.createAll(people));
 		}
 	}
 	
+	@PutMapping(consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+					WebConfig.APPLICATION_SMILE_VALUE, WebConfig.APPLICATION_PROTOBUF_VALUE},
+			produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+					WebConfig.APPLICATION_SMILE_VALUE, WebConfig.APPLICATION_PROTOBUF_VALUE})
+	public ResponseEntity<?> update(@RequestBody Person person,
+			@RequestHeader(value = "If-Match", required = false) String ifMatch,
+			@RequestHeader(value = "Prefer", required = false) String prefer) {
+		if (ifMatch != null) person.setVersion(EntityTags.parseIfMatch(ifMatch));
+		if (respondAsync(prefer)) return accepted(writeBehind.submit(Operation.UPDATE, person));
+		Person updated = service.update(person);
+		return ResponseEntity.ok()
+				.eTag(EntityTags.of(updated.getVersion()))
+				.varyBy(HttpHeaders.ACCEPT)
+				.body(updated);
+	}
+	
+	// Progress of a write accepted with Prefer: respond-async
+	@GetMapping(value = "/writes/{trackingId}",
+			produces = MediaType.APPLICATION_JSON_VALUE)
+	public ResponseEntity<WriteStatus> writeStatus(@PathVariable(value = "trackingId") String trackingId) {
+		if (writeBehind == null) return ResponseEntity.notFound().build();
+		return ResponseEntity.of(writeBehind.status(trackingId));
+	}
 	
 	@DeleteMapping(value = "/{id}")
-	public ResponseEntity<?> delete(@PathVariable(value = "id") Long id) {
-		service.delete(id);
+	public ResponseEntity<?> delete(@PathVariable(value = "id") Long id,
+			@RequestHeader(value = "If-Match", required = false) String ifMatch) {
+		service.delete(id, EntityTags.parseIfMatch(ifMatch));
 		return ResponseEntity.noContent().build();
 	}
-}
\ No newline at end of file
+	
+	// The write-behind profile honours Prefer: respond-async (RFC 7240); otherwise writes stay synchronous
+	private boolean respondAsync(String prefer) {
+		if (writeBehind == null || prefer == null) return false;
+		for (String preference : prefer.split(",")) {
+			if (preference.split(";")[0].trim().equalsIgnoreCase(RESPOND_ASYNC)) return true;
+		}
+		return false;
+	}
+	
+	private static ResponseEntity<WriteStatus> accepted(WriteStatus status) {
+		URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+				.path("/person/writes/{trackingId}")
+				.buildAndExpand(status.trackingId())
+				.toUri();
+		return ResponseEntity.accepted()
+				.location(location)
+				.header(PREFERENCE_APPLIED_HEADER, RESPOND_ASYNC)
+				.body(status);
+	}
+	
+	private static <T> ResponseEntity<List<?>> withCursor(Slice<T> page, Function<T, Long> idOf) {
+		var response = ResponseEntity.ok();
+		if (page.hasNext()) {
+			List<T> content = page.getContent();
+			response.header(NEXT_CURSOR_HEADER, PageCursor.encode(idOf.apply(content.get(content.size() - 1))));
+		}
+		return response.body(page.getContent());
+	}
+}
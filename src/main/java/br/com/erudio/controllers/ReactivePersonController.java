@@ -0,0 +1,61 @@
+package br.com.erudio.controllers;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.erudio.model.Person;
+import br.com.erudio.services.ReactivePersonServices;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Profile("reactive")
+@RestController
+@RequestMapping("/person")
+public class ReactivePersonController {
+	
+	// Rows requested from R2DBC at a time; the server pulls more only as the client drains them
+	static final int PREFETCH = 256;
+	
+	@Autowired
+	private ReactivePersonServices service;
+	
+	@GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+	public Flux<Person> findAll() {
+		return service.findAll().limitRate(PREFETCH);
+	}
+	
+	@GetMapping(value = "/{id}",
+			produces = MediaType.APPLICATION_JSON_VALUE)
+	public Mono<Person> findById(@PathVariable(value = "id") Long id) {
+		return service.findById(id);
+	}
+	
+	@PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE,
+			produces = MediaType.APPLICATION_JSON_VALUE)
+	public Mono<Person> create(@RequestBody Person person) {
+		return service.create(person);
+	}
+	
+	@PutMapping(consumes = MediaType.APPLICATION_JSON_VALUE,
+			produces = MediaType.APPLICATION_JSON_VALUE)
+	public Mono<Person> update(@RequestBody Person person) {
+		return service.update(person);
+	}
+	
+	@DeleteMapping(value = "/{id}")
+	@ResponseStatus(HttpStatus.NO_CONTENT)
+	public Mono<Void> delete(@PathVariable(value = "id") Long id) {
+		return service.delete(id);
+	}
+}
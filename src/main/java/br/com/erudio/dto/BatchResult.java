@@ -0,0 +1,3 @@
+package br.com.erudio.dto;
+
+public record BatchResult(int created) {}
@@ -0,0 +1,26 @@
+package br.com.erudio.dto;
+
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import br.com.erudio.model.PersonChange;
+import br.com.erudio.model.PersonChange.Type;
+
+/**
+ * One entry of the person change feed. {@code position} is the cursor to resume after;
+ * {@code person} is the state after the change, as stored, and null for a deletion.
+ */
+public record PersonChangeDTO(
+		Long position,
+		Type type,
+		Long personId,
+		Long version,
+		Instant changedAt,
+		@JsonRawValue String person) {
+
+	public static PersonChangeDTO of(PersonChange change) {
+		return new PersonChangeDTO(change.getPosition(), change.getType(), change.getPersonId(),
+				change.getVersion(), change.getChangedAt(), change.getPayload());
+	}
+}
@@ -0,0 +1,22 @@
+package br.com.erudio.dto;
+
+import br.com.erudio.model.Person;
+
+/**
+ * Read model for the list endpoints, filled by JPQL constructor expressions so rows
+ * never become managed entities. Serializes exactly like {@link Person}.
+ */
+public record PersonDTO(
+		Long id,
+		String firstName,
+		String lastName,
+		String address,
+		String gender,
+		String email,
+		Long version) {
+
+	public static PersonDTO of(Person person) {
+		return new PersonDTO(person.getId(), person.getFirstName(), person.getLastName(),
+				person.getAddress(), person.getGender(), person.getEmail(), person.getVersion());
+	}
+}
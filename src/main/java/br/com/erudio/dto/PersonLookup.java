@@ -0,0 +1,11 @@
+package br.com.erudio.dto;
+
+import java.util.List;
+
+import br.com.erudio.model.Person;
+
+/**
+ * Result of a multi-get: the people found, in the order their ids were requested, and the
+ * requested ids with no person.
+ */
+public record PersonLookup(List<Person> found, List<Long> missing) {}
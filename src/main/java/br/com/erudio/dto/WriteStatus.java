@@ -0,0 +1,24 @@
+package br.com.erudio.dto;
+
+/**
+ * Progress of a write accepted with {@code Prefer: respond-async}. {@code personId} is the id
+ * sent with the write and, once WRITTEN, the id the person was stored under.
+ */
+public record WriteStatus(String trackingId, Operation operation, State state, Long personId, String error) {
+
+	public enum Operation { CREATE, UPDATE }
+
+	public enum State { QUEUED, WRITTEN, FAILED }
+
+	public static WriteStatus queued(String trackingId, Operation operation, Long personId) {
+		return new WriteStatus(trackingId, operation, State.QUEUED, personId, null);
+	}
+
+	public WriteStatus written(Long personId) {
+		return new WriteStatus(trackingId, operation, State.WRITTEN, personId, null);
+	}
+
+	public WriteStatus failed(String error) {
+		return new WriteStatus(trackingId, operation, State.FAILED, personId, error);
+	}
+}
@@ -0,0 +1,14 @@
+package br.com.erudio.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class BadRequestException extends RuntimeException{
+	
+	private static final long serialVersionUID = 1L;
+	
+	public BadRequestException(String ex) {
+		super(ex);
+	}
+}
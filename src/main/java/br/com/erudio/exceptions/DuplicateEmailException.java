@@ -0,0 +1,17 @@
+package br.com.erudio.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * A client error like {@link ResourceNotFoundException}, so it skips the stack trace as well.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class DuplicateEmailException extends RuntimeException{
+	
+	private static final long serialVersionUID = 1L;
+	
+	public DuplicateEmailException(String ex) {
+		super(ex, null, false, false);
+	}
+}
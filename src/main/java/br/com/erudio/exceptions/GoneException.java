@@ -0,0 +1,14 @@
+package br.com.erudio.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.GONE)
+public class GoneException extends RuntimeException{
+	
+	private static final long serialVersionUID = 1L;
+	
+	public GoneException(String ex) {
+		super(ex);
+	}
+}
@@ -0,0 +1,21 @@
+package br.com.erudio.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ServiceUnavailableException extends RuntimeException{
+	
+	private static final long serialVersionUID = 1L;
+	
+	private final long retryAfterSeconds;
+	
+	public ServiceUnavailableException(String ex, long retryAfterSeconds) {
+		super(ex);
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+	
+	public long getRetryAfterSeconds() {
+		return retryAfterSeconds;
+	}
+}
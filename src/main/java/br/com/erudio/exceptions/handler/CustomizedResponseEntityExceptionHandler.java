@@ -1,44 +1,86 @@
 package br.com.erudio.exceptions.handler;
 
-import java.util.Date;
-
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
-import br.com.erudio.exceptions.ExceptionResponse;
+import br.com.erudio.exceptions.BadRequestException;
+import br.com.erudio.exceptions.DuplicateEmailException;
+import br.com.erudio.exceptions.GoneException;
+import br.com.erudio.exceptions.PreconditionFailedException;
 import br.com.erudio.exceptions.ResourceNotFoundException;
+import br.com.erudio.exceptions.ServiceUnavailableException;
+import br.com.erudio.exceptions.TooManyRequestsException;
+import jakarta.servlet.http.HttpServletResponse;
 
+// Errors are RFC 7807 problem details; Spring fills in the instance from the request path on write
+@Profile("!reactive")
 @ControllerAdvice
 @RestController
 public class CustomizedResponseEntityExceptionHandler extends ResponseEntityExceptionHandler{
 	
+	// The message of an unexpected exception can carry SQL, constraint names or stack details,
+	// so it is only logged. A streamed response (export, change stream) that fails after it was
+	// committed, usually because the client went away, has nothing left to answer
 	@ExceptionHandler(Exception.class)
-	public final ResponseEntity<ExceptionResponse> handleAllExceptions(
-			Exception ex, WebRequest request) {
-		
-		ExceptionResponse exceptionResponse = new ExceptionResponse(
-				new Date(),
-				ex.getMessage(),
-				request.getDescription(false));
-		
-		return new ResponseEntity<>(exceptionResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+	public final ResponseEntity<ProblemDetail> handleAllExceptions(Exception ex, HttpServletResponse response) {
+		if (response.isCommitted()) {
+			logger.warn("Streamed response failed after it was committed: " + ex);
+			return null;
+		}
+		logger.error("Unexpected error handling the request!", ex);
+		return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+				.body(ProblemDetail.forStatusAndDetail(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred!"));
 	}
 	
 	@ExceptionHandler(ResourceNotFoundException.class)
-	public final ResponseEntity<ExceptionResponse> handleNotFoundExceptions(
-			Exception ex, WebRequest request) {
-		
-		ExceptionResponse exceptionResponse = new ExceptionResponse(
-				new Date(),
-				ex.getMessage(),
-				request.getDescription(false));
-		
-		return new ResponseEntity<>(exceptionResponse, HttpStatus.NOT_FOUND);
+	public final ResponseEntity<ProblemDetail> handleNotFoundExceptions(Exception ex) {
+		return problem(HttpStatus.NOT_FOUND, ex);
+	}
+	
+	@ExceptionHandler(BadRequestException.class)
+	public final ResponseEntity<ProblemDetail> handleBadRequestExceptions(Exception ex) {
+		return problem(HttpStatus.BAD_REQUEST, ex);
+	}
+	
+	@ExceptionHandler(PreconditionFailedException.class)
+	public final ResponseEntity<ProblemDetail> handlePreconditionFailedExceptions(Exception ex) {
+		return problem(HttpStatus.PRECONDITION_FAILED, ex);
+	}
+	
+	@ExceptionHandler(DuplicateEmailException.class)
+	public final ResponseEntity<ProblemDetail> handleDuplicateEmailExceptions(Exception ex) {
+		return problem(HttpStatus.CONFLICT, ex);
+	}
+	
+	@ExceptionHandler(GoneException.class)
+	public final ResponseEntity<ProblemDetail> handleGoneExceptions(Exception ex) {
+		return problem(HttpStatus.GONE, ex);
+	}
+	
+	@ExceptionHandler(TooManyRequestsException.class)
+	public final ResponseEntity<ProblemDetail> handleTooManyRequestsExceptions(TooManyRequestsException ex) {
+		return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+				.header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+				.body(ProblemDetail.forStatusAndDetail(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage()));
+	}
+	
+	@ExceptionHandler(ServiceUnavailableException.class)
+	public final ResponseEntity<ProblemDetail> handleServiceUnavailableExceptions(ServiceUnavailableException ex) {
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+				.header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+				.body(ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage()));
+	}
+	
+	private static ResponseEntity<ProblemDetail> problem(HttpStatus status, Exception ex) {
+		return ResponseEntity.status(status)
+				.body(ProblemDetail.forStatusAndDetail(status, ex.getMessage()));
 	}
 
 }
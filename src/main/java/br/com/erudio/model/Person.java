@@ -2,21 +2,39 @@ package br.com.erudio.model;
 
 import java.io.Serializable;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 
 @Entity
-@Table(name = "person")
+// Mirrors db/migration/V2__person_indexes.sql
+@Table(name = "person",
+		uniqueConstraints = @UniqueConstraint(name = "uk_person_email", columnNames = "email"),
+		indexes = @Index(name = "idx_person_last_first", columnList = "last_name, first_name"))
+// Only used when the l2cache profile turns on Hibernate's second-level cache
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "person")
 public class Person implements Serializable {
 
 	private static final long serialVersionUID = 1L;
 
+	// Pooled sequence instead of IDENTITY so Hibernate can batch inserts.
+	// The Spring Data @Id maps the same field for the R2DBC (reactive profile) repository.
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@org.springframework.data.annotation.Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "person_seq")
+	@SequenceGenerator(name = "person_seq", sequenceName = "person_seq", allocationSize = 50)
 	private Long id;
 	
 	@Column(name = "first_name", nullable = false, length = 80)
@@ -34,6 +52,10 @@ public class Person implements Serializable {
     @Column(nullable = false, length = 100)
     private String email;
 
+    // Optimistic lock; also exposed to clients as the entity tag
+    @Version
+    private Long version;
+
     public Person() {}
 
     public Person(String firstName, String lastName, String email, String address, String gender) {
@@ -101,6 +123,14 @@ public class Person implements Serializable {
         this.email = email;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
@@ -0,0 +1,94 @@
+package br.com.erudio.model;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * One row of the person change outbox. {@code position} stays null until the relay orders
+ * the change into the feed; {@code payload} is the person as JSON, null for a deletion.
+ */
+@Entity
+// Mirrors db/migration/V3__person_change.sql
+@Table(name = "person_change",
+		uniqueConstraints = @UniqueConstraint(name = "uk_person_change_position", columnNames = "feed_position"),
+		indexes = @Index(name = "idx_person_change_changed_at", columnList = "changed_at"))
+public class PersonChange {
+
+	public enum Type { CREATE, UPDATE, DELETE }
+
+	// Auto-increment so ids follow insert order; rows are inserted in JDBC batches by PersonChangeOutbox
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "feed_position")
+	private Long position;
+
+	@Column(name = "person_id", nullable = false)
+	private Long personId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 6)
+	private Type type;
+
+	@Column(name = "person_version")
+	private Long version;
+
+	@Column(length = 1000)
+	private String payload;
+
+	@Column(name = "changed_at", nullable = false)
+	private Instant changedAt;
+
+	public PersonChange() {}
+
+	public PersonChange(Long personId, Type type, Long version, String payload, Instant changedAt) {
+		this.personId = personId;
+		this.type = type;
+		this.version = version;
+		this.payload = payload;
+		this.changedAt = changedAt;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public Long getPosition() {
+		return position;
+	}
+
+	public void setPosition(Long position) {
+		this.position = position;
+	}
+
+	public Long getPersonId() {
+		return personId;
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public Long getVersion() {
+		return version;
+	}
+
+	public String getPayload() {
+		return payload;
+	}
+
+	public Instant getChangedAt() {
+		return changedAt;
+	}
+}
@@ -0,0 +1,107 @@
+package br.com.erudio.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Caps the requests in flight with a limit that follows the observed latency (gradient style).
+ * Responses are grouped into sampling windows of at least {@link #SAMPLE_WINDOW} and
+ * {@link #MIN_WINDOW_SAMPLES} responses, and the limit only moves when a window closes:
+ * <ul>
+ * <li>the window's average latency above {@code tolerance} times the baseline means requests are
+ * queueing (usually for pool connections), so the limit is cut by the ratio between the two,
+ * by at most {@link #MAX_BACKOFF};</li>
+ * <li>otherwise, if at least half of the limit was in use, it grows by its square root.</li>
+ * </ul>
+ * The baseline is a slow moving average of the window averages ({@link #BASELINE_WINDOWS}), so
+ * the ordinary spread between fast and slow responses never looks like queueing, a short overload
+ * does not move it much, and it still settles on the database's new latency when that gets
+ * permanently slower or faster. Taking a slot is lock free; the window bookkeeping on release is
+ * a short critical section.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+	static final long SAMPLE_WINDOW = TimeUnit.MILLISECONDS.toNanos(100);
+	static final int MIN_WINDOW_SAMPLES = 10;
+	static final int BASELINE_WINDOWS = 100;
+	static final double MAX_BACKOFF = 0.5;
+
+	private final int minLimit;
+	private final int maxLimit;
+	private final double tolerance;
+	private final LongSupplier clock;
+
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private volatile int limit;
+
+	// Guarded by this
+	private long windowStart;
+	private long windowLatency;
+	private int windowSamples;
+	private int windowPeakInFlight;
+	private double baseline;
+
+	public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+		this(initialLimit, minLimit, maxLimit, tolerance, System::nanoTime);
+	}
+
+	AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance, LongSupplier clock) {
+		if (minLimit < 1 || maxLimit < minLimit || tolerance <= 1) {
+			throw new IllegalArgumentException("Invalid concurrency limits");
+		}
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.tolerance = tolerance;
+		this.clock = clock;
+		this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+		this.windowStart = clock.getAsLong();
+	}
+
+	public boolean tryAcquire() {
+		while (true) {
+			int current = inFlight.get();
+			if (current >= limit) return false;
+			if (inFlight.compareAndSet(current, current + 1)) return true;
+		}
+	}
+
+	/**
+	 * Returns the slot taken by {@link #tryAcquire()} along with the time the request took.
+	 */
+	public void release(long latencyNanos) {
+		int inFlightBefore = inFlight.getAndDecrement();
+		long now = clock.getAsLong();
+		synchronized (this) {
+			windowLatency += latencyNanos;
+			windowSamples++;
+			windowPeakInFlight = Math.max(windowPeakInFlight, inFlightBefore);
+			if (now - windowStart >= SAMPLE_WINDOW && windowSamples >= MIN_WINDOW_SAMPLES) {
+				adjust((double) windowLatency / windowSamples, windowPeakInFlight);
+				windowStart = now;
+				windowLatency = 0;
+				windowSamples = 0;
+				windowPeakInFlight = 0;
+			}
+		}
+	}
+
+	public int limit() {
+		return limit;
+	}
+
+	public int inFlight() {
+		return inFlight.get();
+	}
+
+	private void adjust(double latency, int peakInFlight) {
+		baseline = baseline == 0 ? latency : baseline + (latency - baseline) / BASELINE_WINDOWS;
+		int current = limit;
+		double gradient = tolerance * baseline / latency;
+		if (gradient < 1) {
+			limit = Math.max(minLimit, (int) (current * Math.max(MAX_BACKOFF, gradient)));
+		} else if (peakInFlight * 2 >= current) {
+			limit = Math.min(maxLimit, current + Math.max(1, (int) Math.sqrt(current)));
+		}
+	}
+}
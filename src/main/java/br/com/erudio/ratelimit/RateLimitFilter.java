@@ -0,0 +1,140 @@
+package br.com.erudio.ratelimit;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.util.pattern.PathPattern;
+
+import br.com.erudio.exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Applies the first matching {@link Rule}: the client's token bucket first, then the endpoint's
+ * concurrency limit. Rejections go through the MVC exception handlers as a
+ * {@link TooManyRequestsException}, so they answer 429 with Retry-After like the rest of the API.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+	private static final long CONCURRENCY_RETRY_AFTER_SECONDS = 1;
+
+	private final List<Rule> rules;
+	private final String clientHeader;
+	private final HandlerExceptionResolver exceptionResolver;
+
+	/**
+	 * One endpoint's limits; {@code rate} and {@code concurrency} are {@code null} when disabled.
+	 * {@code params} are the request parameters the endpoint needs, as in {@code @GetMapping(params)}.
+	 */
+	public record Rule(String name, Set<String> methods, PathPattern path, Set<String> params,
+			StripedTokenBucket rate, AdaptiveConcurrencyLimiter concurrency,
+			Counter rateRejections, Counter concurrencyRejections) {
+
+		boolean matches(HttpServletRequest request, PathContainer path) {
+			return (methods.isEmpty() || methods.contains(request.getMethod())) && this.path.matches(path)
+					&& request.getParameterMap().keySet().containsAll(params);
+		}
+	}
+
+	/**
+	 * Keys the token buckets on the remote address, or on {@code clientHeader} when it is not
+	 * {@code null}. The header is taken as is, so only name one behind a gateway that sets it.
+	 */
+	public RateLimitFilter(List<Rule> rules, String clientHeader, HandlerExceptionResolver exceptionResolver) {
+		this.rules = rules;
+		this.clientHeader = clientHeader;
+		this.exceptionResolver = exceptionResolver;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+
+		Rule rule = match(request);
+		if (rule == null) {
+			chain.doFilter(request, response);
+			return;
+		}
+		if (rule.rate() != null) {
+			long waitNanos = rule.rate().tryAcquire(clientKey(request));
+			if (waitNanos > 0) {
+				rule.rateRejections().increment();
+				reject(request, response, "Too many requests for " + rule.name() + ", slow down!",
+						Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1)));
+				return;
+			}
+		}
+		if (rule.concurrency() == null) {
+			chain.doFilter(request, response);
+			return;
+		}
+		if (!rule.concurrency().tryAcquire()) {
+			rule.concurrencyRejections().increment();
+			reject(request, response, "Too many concurrent requests for " + rule.name() + ", retry later!",
+					CONCURRENCY_RETRY_AFTER_SECONDS);
+			return;
+		}
+		long start = System.nanoTime();
+		boolean async = false;
+		try {
+			chain.doFilter(request, response);
+			async = request.isAsyncStarted();
+			if (async) {
+				// Streamed responses (the export) hold their slot until the body is written
+				request.getAsyncContext().addListener(new ReleaseOnComplete(rule.concurrency(), start));
+			}
+		} finally {
+			if (!async) rule.concurrency().release(System.nanoTime() - start);
+		}
+	}
+
+	private Rule match(HttpServletRequest request) {
+		PathContainer path = PathContainer.parsePath(
+				request.getRequestURI().substring(request.getContextPath().length()));
+		for (Rule rule : rules) {
+			if (rule.matches(request, path)) return rule;
+		}
+		return null;
+	}
+
+	private String clientKey(HttpServletRequest request) {
+		if (clientHeader == null) return request.getRemoteAddr();
+		String client = request.getHeader(clientHeader);
+		return client == null || client.isBlank() ? request.getRemoteAddr() : client;
+	}
+
+	private void reject(HttpServletRequest request, HttpServletResponse response, String message,
+			long retryAfterSeconds) {
+		exceptionResolver.resolveException(request, response, null,
+				new TooManyRequestsException(message, retryAfterSeconds));
+	}
+
+	private record ReleaseOnComplete(AdaptiveConcurrencyLimiter limiter, long start) implements AsyncListener {
+
+		@Override
+		public void onComplete(AsyncEvent event) {
+			limiter.release(System.nanoTime() - start);
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) {}
+
+		@Override
+		public void onError(AsyncEvent event) {}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) {
+			event.getAsyncContext().addListener(this);
+		}
+	}
+}
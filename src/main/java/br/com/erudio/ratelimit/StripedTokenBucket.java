@@ -0,0 +1,63 @@
+package br.com.erudio.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets for many clients in a fixed array of stripes, one {@code long} each, so memory
+ * stays bounded however many clients show up; two clients only share a budget when their keys
+ * land on the same stripe.
+ * <p>
+ * Each stripe keeps the bucket as the GCRA "theoretical arrival time": the instant the bucket
+ * would be full again. Taking a permit pushes it one interval further, and a permit is refused
+ * while it sits more than {@code burst - 1} intervals ahead of now. That is the same budget as a
+ * token bucket refilled at {@code permitsPerSecond} up to {@code burst} tokens, kept in a
+ * single word, so a compare-and-set is all the synchronization it needs.
+ */
+public class StripedTokenBucket {
+
+	private final AtomicLongArray arrivals;
+	private final int mask;
+	private final long interval;
+	private final long tolerance;
+	private final LongSupplier clock;
+
+	public StripedTokenBucket(double permitsPerSecond, int burst, int stripes) {
+		this(permitsPerSecond, burst, stripes, System::nanoTime);
+	}
+
+	StripedTokenBucket(double permitsPerSecond, int burst, int stripes, LongSupplier clock) {
+		if (permitsPerSecond <= 0 || burst < 1) {
+			throw new IllegalArgumentException("Rate and burst must be positive");
+		}
+		int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+		this.arrivals = new AtomicLongArray(size);
+		this.mask = size - 1;
+		this.interval = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+		this.tolerance = interval * (burst - 1);
+		long origin = clock.getAsLong();
+		// Time since construction, so the all-zero array starts out as full buckets
+		this.clock = () -> clock.getAsLong() - origin;
+	}
+
+	/**
+	 * Takes a permit for the key, returning 0 on success or the nanoseconds until one is available.
+	 */
+	public long tryAcquire(Object key) {
+		int stripe = stripe(key);
+		long now = clock.getAsLong();
+		while (true) {
+			long arrival = arrivals.get(stripe);
+			long start = Math.max(arrival, now);
+			long wait = start - now - tolerance;
+			if (wait > 0) return wait;
+			if (arrivals.compareAndSet(stripe, arrival, start + interval)) return 0;
+		}
+	}
+
+	private int stripe(Object key) {
+		int hash = key.hashCode();
+		return (hash ^ (hash >>> 16)) & mask;
+	}
+}
@@ -0,0 +1,40 @@
+package br.com.erudio.repositories;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import br.com.erudio.model.PersonChange;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface PersonChangeRepository extends JpaRepository<PersonChange, Long> {
+
+    //Committed changes the relay has not numbered yet, in insert order
+    List<PersonChange> findByPositionIsNullOrderByIdAsc(Limit limit);
+
+    //The feed after a cursor
+    List<PersonChange> findByPositionGreaterThanOrderByPositionAsc(Long position, Limit limit);
+
+    //Locks the relay row until the transaction ends, so one relay at a time numbers changes
+    @Query(value = "select last_position from person_change_relay where id = 1 for update", nativeQuery = true)
+    Long lockLastPosition();
+
+    @Query(value = "select last_position from person_change_relay where id = 1", nativeQuery = true)
+    Long findLastPosition();
+
+    @Modifying
+    @Query(value = "update person_change_relay set last_position = :position where id = 1", nativeQuery = true)
+    int updateLastPosition(@Param("position") Long position);
+
+    @Query("select max(c.position) from PersonChange c where c.changedAt < :cutoff")
+    Long findLastPositionBefore(@Param("cutoff") Instant cutoff);
+
+    //Deletes from the start of the feed only, so the positions that remain stay contiguous
+    @Modifying
+    @Query("delete from PersonChange c where c.position <= :position")
+    int deleteUpToPosition(@Param("position") Long position);
+}
@@ -0,0 +1,19 @@
+package br.com.erudio.repositories;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sparse fieldsets: selects only the requested columns and returns each row
+ * as a map keyed by field name, in the requested order.
+ */
+public interface PersonFieldsRepository {
+
+    //Attribute names that may be selected; anything else is rejected
+    List<String> FIELDS = List.of("id", "firstName", "lastName", "address", "gender", "email", "version");
+
+    List<Map<String, Object>> findFieldsByIdGreaterThan(List<String> fields, Long lastId, int limit);
+
+    List<Map<String, Object>> findFieldsByIdIn(List<String> fields, Collection<Long> ids);
+}
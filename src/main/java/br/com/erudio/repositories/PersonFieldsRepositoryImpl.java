@@ -0,0 +1,60 @@
+package br.com.erudio.repositories;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+
+class PersonFieldsRepositoryImpl implements PersonFieldsRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findFieldsByIdGreaterThan(List<String> fields, Long lastId, int limit) {
+        List<Tuple> rows = entityManager
+                .createQuery(select(fields) + " where p.id > :lastId order by p.id", Tuple.class)
+                .setParameter("lastId", lastId)
+                .setMaxResults(limit)
+                .getResultList();
+        return toMaps(fields, rows);
+    }
+
+    @Override
+    public List<Map<String, Object>> findFieldsByIdIn(List<String> fields, Collection<Long> ids) {
+        List<Tuple> rows = entityManager
+                .createQuery(select(fields) + " where p.id in :ids", Tuple.class)
+                .setParameter("ids", ids)
+                .getResultList();
+        return toMaps(fields, rows);
+    }
+
+    //Only whitelisted attribute names ever reach the query text
+    private static String select(List<String> fields) {
+        StringJoiner select = new StringJoiner(", ", "select ", " from Person p");
+        for (String field : fields) {
+            if (!FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Unknown person field: " + field);
+            }
+            select.add("p." + field);
+        }
+        return select.toString();
+    }
+
+    private static List<Map<String, Object>> toMaps(List<String> fields, List<Tuple> rows) {
+        return rows.stream()
+                .map(row -> {
+                    Map<String, Object> values = new LinkedHashMap<>();
+                    for (int i = 0; i < fields.size(); i++) {
+                        values.put(fields.get(i), row.get(i));
+                    }
+                    return values;
+                })
+                .toList();
+    }
+}
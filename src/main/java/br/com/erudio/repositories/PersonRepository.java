@@ -1,17 +1,81 @@
 package br.com.erudio.repositories;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 
+import br.com.erudio.dto.PersonDTO;
 import br.com.erudio.model.Person;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface PersonRepository extends JpaRepository<Person, Long> {
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+public interface PersonRepository extends JpaRepository<Person, Long>, PersonFieldsRepository {
 
     Optional<Person> findByEmail(String email);
 
+    @Query("select p.email from Person p where p.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    //Like findAllById, but a string query (compiled once, unlike a Criteria query per call) projected to DTOs
+    @Query("select new br.com.erudio.dto.PersonDTO(p.id, p.firstName, p.lastName, p.address, p.gender, p.email, p.version) " +
+            "from Person p where p.id in :ids")
+    List<PersonDTO> findDTOsByIdIn(@Param("ids") Collection<Long> ids);
+
+    //Keyset (seek) pagination: where id > :lastId order by id limit n
+    @Query("select new br.com.erudio.dto.PersonDTO(p.id, p.firstName, p.lastName, p.address, p.gender, p.email, p.version) " +
+            "from Person p where p.id > :lastId order by p.id")
+    List<PersonDTO> findDTOsByIdGreaterThan(@Param("lastId") Long lastId, Limit limit);
+
+    //Forward-only stream over the whole table, must be consumed inside a transaction
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("select p from Person p order by p.id")
+    Stream<Person> streamAll();
+
+    //Same stream projected to DTOs, so nothing needs detaching
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select new br.com.erudio.dto.PersonDTO(p.id, p.firstName, p.lastName, p.address, p.gender, p.email, p.version) " +
+            "from Person p order by p.id")
+    Stream<PersonDTO> streamAllDTOs();
+
+    //Single-statement versioned update, returns the number of affected rows
+    //(0 when the id does not exist or, if a version is given, it no longer matches).
+    //As a bulk statement it empties the whole Person second-level cache region (l2cache profile)
+    @Modifying
+    @Query("update versioned Person p set p.firstName = :firstName, p.lastName = :lastName, p.email = :email, " +
+            "p.address = :address, p.gender = :gender where p.id = :id and (:version is null or p.version = :version)")
+    int updatePerson(
+            @Param("id") Long id,
+            @Param("version") Long version,
+            @Param("firstName") String firstName,
+            @Param("lastName") String lastName,
+            @Param("email") String email,
+            @Param("address") String address,
+            @Param("gender") String gender);
+
+    //Version after an unconditional updatePerson; MySQL has no update ... returning, so it is read back
+    //in the same transaction, where the row lock taken by the update keeps it from moving until commit
+    @Query("select p.version from Person p where p.id = :id")
+    Long findVersionById(@Param("id") Long id);
+
+    //Single-statement delete, returns the number of affected rows
+    //(0 when the id does not exist or, if a version is given, it no longer matches).
+    //Empties the Person second-level cache region like updatePerson
+    @Modifying
+    @Query("delete from Person p where p.id = :id and (:version is null or p.version = :version)")
+    int deletePersonById(@Param("id") Long id, @Param("version") Long version);
+
     //Define custom query using JPQL with index parameters
     @Query("select p from Person p where p.firstName = ?1 and p.lastName = ?2")
     Person findByJPQL(String firstName, String lastName);
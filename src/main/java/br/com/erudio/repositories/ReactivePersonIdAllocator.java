@@ -0,0 +1,59 @@
+package br.com.erudio.repositories;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Hands out {@code Person} ids for R2DBC inserts from the same {@code person_seq} table that
+ * Hibernate's pooled optimizer uses. Each reservation moves {@code next_val} forward by the
+ * allocation size and owns the ids up to the value read, exactly like a JPA block, so ids
+ * never collide with the blocking stack writing to the same table.
+ */
+@Component
+@Profile("reactive")
+public class ReactivePersonIdAllocator {
+
+	// Must match the allocationSize of the person_seq generator on Person
+	static final int ALLOCATION_SIZE = 50;
+
+	private final DatabaseClient client;
+	private final TransactionalOperator transactionalOperator;
+
+	private long next;
+	private long hi = -1;
+
+	public ReactivePersonIdAllocator(DatabaseClient client, TransactionalOperator transactionalOperator) {
+		this.client = client;
+		this.transactionalOperator = transactionalOperator;
+	}
+
+	public Mono<Long> nextId() {
+		synchronized (this) {
+			if (next <= hi) return Mono.just(next++);
+		}
+		return reserveBlock().map(top -> {
+			synchronized (this) {
+				next = Math.max(1, top - ALLOCATION_SIZE + 1);
+				hi = top;
+				return next++;
+			}
+		});
+	}
+
+	private Mono<Long> reserveBlock() {
+		Mono<Long> reserve = client.sql("select next_val from person_seq for update")
+				.map(row -> row.get("next_val", Long.class))
+				.one()
+				.flatMap(value -> client.sql("update person_seq set next_val = :next where next_val = :value")
+						.bind("next", value + ALLOCATION_SIZE)
+						.bind("value", value)
+						.fetch()
+						.rowsUpdated()
+						.thenReturn(value));
+		return transactionalOperator.transactional(reserve);
+	}
+}
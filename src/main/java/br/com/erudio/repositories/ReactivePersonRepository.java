@@ -0,0 +1,94 @@
+package br.com.erudio.repositories;
+
+import static org.springframework.data.relational.core.query.Criteria.where;
+import static org.springframework.data.relational.core.query.Query.query;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.stereotype.Repository;
+
+import br.com.erudio.model.Person;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive (R2DBC) mirror of {@link PersonRepository}, used by the reactive profile.
+ * It is a template-backed class rather than a Spring Data interface because Spring Data JPA
+ * rejects reactive repository interfaces found while scanning for {@code PersonRepository}.
+ */
+@Repository
+@Profile("reactive")
+public class ReactivePersonRepository {
+
+    private final R2dbcEntityTemplate template;
+
+    public ReactivePersonRepository(R2dbcEntityTemplate template) {
+        this.template = template;
+    }
+
+    public Flux<Person> findAll() {
+        return template.select(Query.empty().sort(Sort.by("id")), Person.class);
+    }
+
+    public Mono<Person> findById(Long id) {
+        return template.selectOne(query(where("id").is(id)), Person.class);
+    }
+
+    public Mono<Person> findByEmail(String email) {
+        return template.selectOne(query(where("email").is(email)), Person.class);
+    }
+
+    //Equivalent to PersonRepository.findByJPQL / findByJPQLNamedParameters
+    public Mono<Person> findByFirstNameAndLastName(String firstName, String lastName) {
+        return template.selectOne(
+                query(where("firstName").is(firstName).and("lastName").is(lastName)), Person.class);
+    }
+
+    //Define custom query using SQL with named parameters
+    public Mono<Person> findByNativeSQLWithNamedParameters(String firstName, String lastName) {
+        return template.getDatabaseClient()
+                .sql("select * from person p where p.first_name = :firstName and p.last_name = :lastName")
+                .bind("firstName", firstName)
+                .bind("lastName", lastName)
+                .map((row, metadata) -> template.getConverter().read(Person.class, row, metadata))
+                .one();
+    }
+
+    public Mono<Person> insert(Person person) {
+        person.setVersion(0L);
+        return template.insert(person);
+    }
+
+    //Versioned update mirroring PersonRepository.updatePerson, returns the number of affected rows
+    //(0 when the id does not exist or, if a version is given, it no longer matches)
+    public Mono<Long> updatePerson(Person person) {
+        String sql = "update person set first_name = :firstName, last_name = :lastName, email = :email, " +
+                "address = :address, gender = :gender, version = coalesce(version, 0) + 1 where id = :id";
+        if (person.getVersion() != null) sql += " and version = :version";
+
+        var spec = template.getDatabaseClient().sql(sql)
+                .bind("firstName", person.getFirstName())
+                .bind("lastName", person.getLastName())
+                .bind("email", person.getEmail())
+                .bind("address", person.getAddress())
+                .bind("gender", person.getGender())
+                .bind("id", person.getId());
+        if (person.getVersion() != null) spec = spec.bind("version", person.getVersion());
+        return spec.fetch().rowsUpdated();
+    }
+
+    //Version after an unconditional updatePerson, mirroring PersonRepository.findVersionById
+    public Mono<Long> findVersionById(Long id) {
+        return template.getDatabaseClient()
+                .sql("select version from person where id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> row.get("version", Long.class))
+                .one();
+    }
+
+    public Mono<Long> deleteById(Long id) {
+        return template.delete(query(where("id").is(id)), Person.class);
+    }
+}
@@ -0,0 +1,213 @@
+package br.com.erudio.serialization.converter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.WireFormat;
+
+import br.com.erudio.dto.PersonDTO;
+import br.com.erudio.model.Person;
+
+/**
+ * Reads and writes the messages of {@code proto/person.proto} straight from the entity, the
+ * DTO and the ?fields= rows, so there is no generated code and no mapping layer in between.
+ * The field numbers below are the wire format and must match the .proto file: add new ones,
+ * never renumber or reuse them.
+ */
+public class PersonProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+	public static final String APPLICATION_PROTOBUF_VALUE = "application/x-protobuf";
+	public static final MediaType APPLICATION_PROTOBUF = MediaType.valueOf(APPLICATION_PROTOBUF_VALUE);
+
+	private static final int PERSON_ID = 1;
+	private static final int PERSON_FIRST_NAME = 2;
+	private static final int PERSON_LAST_NAME = 3;
+	private static final int PERSON_ADDRESS = 4;
+	private static final int PERSON_GENDER = 5;
+	private static final int PERSON_EMAIL = 6;
+	private static final int PERSON_VERSION = 7;
+
+	// Field number of each ?fields= name in PersonFieldsRepository.FIELDS
+	private static final Map<String, Integer> PERSON_FIELD_NUMBERS = Map.of(
+			"id", PERSON_ID,
+			"firstName", PERSON_FIRST_NAME,
+			"lastName", PERSON_LAST_NAME,
+			"address", PERSON_ADDRESS,
+			"gender", PERSON_GENDER,
+			"email", PERSON_EMAIL,
+			"version", PERSON_VERSION);
+
+	private static final int PERSON_LIST_PEOPLE = 1;
+	private static final int PROBLEM_TYPE = 1;
+	private static final int PROBLEM_TITLE = 2;
+	private static final int PROBLEM_STATUS = 3;
+	private static final int PROBLEM_DETAIL = 4;
+	private static final int PROBLEM_INSTANCE = 5;
+
+	public PersonProtobufHttpMessageConverter() {
+		super(APPLICATION_PROTOBUF);
+	}
+
+	@Override
+	protected boolean supports(Class<?> clazz) {
+		return Person.class == clazz || PersonDTO.class == clazz || ProblemDetail.class == clazz
+				|| Map.class.isAssignableFrom(clazz) || Collection.class.isAssignableFrom(clazz);
+	}
+
+	@Override
+	public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+		return Person.class == type && canRead(mediaType);
+	}
+
+	@Override
+	public boolean canRead(Class<?> clazz, MediaType mediaType) {
+		return Person.class == clazz && canRead(mediaType);
+	}
+
+	@Override
+	public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+		return readInternal(Person.class, inputMessage);
+	}
+
+	@Override
+	protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+		try {
+			return readPerson(CodedInputStream.newInstance(inputMessage.getBody()));
+		} catch (InvalidProtocolBufferException e) {
+			throw new HttpMessageNotReadableException("Invalid protobuf Person: " + e.getMessage(), e, inputMessage);
+		}
+	}
+
+	@Override
+	protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+		CodedOutputStream out = CodedOutputStream.newInstance(outputMessage.getBody());
+		if (body instanceof ProblemDetail problem) {
+			writeProblem(problem, out);
+		} else if (body instanceof Collection<?> people) {
+			writePeople(people, out);
+		} else {
+			writePerson(values(body), out);
+		}
+		out.flush();
+	}
+
+	public static Person readPerson(CodedInputStream in) throws IOException {
+		Person person = new Person();
+		for (int tag = in.readTag(); tag != 0; tag = in.readTag()) {
+			switch (WireFormat.getTagFieldNumber(tag)) {
+				case PERSON_ID -> person.setId(in.readInt64());
+				case PERSON_FIRST_NAME -> person.setFirstName(in.readStringRequireUtf8());
+				case PERSON_LAST_NAME -> person.setLastName(in.readStringRequireUtf8());
+				case PERSON_ADDRESS -> person.setAddress(in.readStringRequireUtf8());
+				case PERSON_GENDER -> person.setGender(in.readStringRequireUtf8());
+				case PERSON_EMAIL -> person.setEmail(in.readStringRequireUtf8());
+				case PERSON_VERSION -> person.setVersion(in.readInt64());
+				default -> in.skipField(tag);
+			}
+		}
+		return person;
+	}
+
+	// Client side of a PersonList, for tests and benchmarks
+	public static List<Person> readPeople(CodedInputStream in) throws IOException {
+		List<Person> people = new ArrayList<>();
+		for (int tag = in.readTag(); tag != 0; tag = in.readTag()) {
+			if (WireFormat.getTagFieldNumber(tag) != PERSON_LIST_PEOPLE) {
+				in.skipField(tag);
+				continue;
+			}
+			int limit = in.pushLimit(in.readRawVarint32());
+			people.add(readPerson(in));
+			in.popLimit(limit);
+		}
+		return people;
+	}
+
+	public static void writePeople(Collection<?> people, CodedOutputStream out) throws IOException {
+		for (Object person : people) {
+			Object[] values = values(person);
+			out.writeTag(PERSON_LIST_PEOPLE, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+			out.writeUInt32NoTag(size(values));
+			writePerson(values, out);
+		}
+	}
+
+	public static void writePerson(Object[] values, CodedOutputStream out) throws IOException {
+		for (int number = PERSON_ID; number < values.length; number++) {
+			if (values[number] == null) continue;
+			if (isInt64(number)) out.writeInt64(number, ((Number) values[number]).longValue());
+			else out.writeString(number, values[number].toString());
+		}
+	}
+
+	public static int size(Object[] values) {
+		int size = 0;
+		for (int number = PERSON_ID; number < values.length; number++) {
+			if (values[number] == null) continue;
+			size += isInt64(number)
+					? CodedOutputStream.computeInt64Size(number, ((Number) values[number]).longValue())
+					: CodedOutputStream.computeStringSize(number, values[number].toString());
+		}
+		return size;
+	}
+
+	// Field values indexed by field number, null for the ones left out
+	public static Object[] values(Object person) {
+		Object[] values = new Object[PERSON_VERSION + 1];
+		if (person instanceof PersonDTO dto) {
+			values[PERSON_ID] = dto.id();
+			values[PERSON_FIRST_NAME] = dto.firstName();
+			values[PERSON_LAST_NAME] = dto.lastName();
+			values[PERSON_ADDRESS] = dto.address();
+			values[PERSON_GENDER] = dto.gender();
+			values[PERSON_EMAIL] = dto.email();
+			values[PERSON_VERSION] = dto.version();
+		} else if (person instanceof Person entity) {
+			values[PERSON_ID] = entity.getId();
+			values[PERSON_FIRST_NAME] = entity.getFirstName();
+			values[PERSON_LAST_NAME] = entity.getLastName();
+			values[PERSON_ADDRESS] = entity.getAddress();
+			values[PERSON_GENDER] = entity.getGender();
+			values[PERSON_EMAIL] = entity.getEmail();
+			values[PERSON_VERSION] = entity.getVersion();
+		} else if (person instanceof Map<?, ?> row) {
+			for (Map.Entry<?, ?> field : row.entrySet()) {
+				Integer number = PERSON_FIELD_NUMBERS.get(field.getKey());
+				if (number == null) {
+					throw new HttpMessageNotWritableException("No protobuf field for " + field.getKey());
+				}
+				values[number] = field.getValue();
+			}
+		} else {
+			throw new HttpMessageNotWritableException("No protobuf message for " + person.getClass().getName());
+		}
+		return values;
+	}
+
+	private static boolean isInt64(int number) {
+		return number == PERSON_ID || number == PERSON_VERSION;
+	}
+
+	private static void writeProblem(ProblemDetail problem, CodedOutputStream out) throws IOException {
+		if (problem.getType() != null) out.writeString(PROBLEM_TYPE, problem.getType().toString());
+		if (problem.getTitle() != null) out.writeString(PROBLEM_TITLE, problem.getTitle());
+		if (problem.getStatus() != 0) out.writeInt32(PROBLEM_STATUS, problem.getStatus());
+		if (problem.getDetail() != null) out.writeString(PROBLEM_DETAIL, problem.getDetail());
+		if (problem.getInstance() != null) out.writeString(PROBLEM_INSTANCE, problem.getInstance().toString());
+	}
+}
@@ -0,0 +1,34 @@
+package br.com.erudio.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import br.com.erudio.config.CacheConfig;
+import br.com.erudio.model.PersonChange.Type;
+
+/**
+ * Evicts updated and deleted people from the person cache once their transaction commits.
+ * <p>
+ * Evicting inside the transaction (as {@code @CacheEvict} does) leaves a window before the
+ * commit where a {@code findById} still reads the old row and puts it back, to be served until
+ * it expires. After the commit, a load that read the old row is either already cached, and
+ * evicted here, or still running, and the eviction waits for it.
+ */
+@Profile("!reactive")
+@Component
+public class PersonCacheEviction {
+
+	@Autowired(required = false)
+	CacheManager cacheManager;
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onPersonChanged(PersonChangedEvent event) {
+		if (cacheManager == null || event.type() == Type.CREATE) return;
+		Cache cache = cacheManager.getCache(CacheConfig.PERSON_CACHE);
+		if (cache != null) cache.evict(event.id());
+	}
+}
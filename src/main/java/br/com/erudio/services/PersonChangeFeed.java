@@ -0,0 +1,381 @@
+package br.com.erudio.services;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import br.com.erudio.dto.PersonChangeDTO;
+import br.com.erudio.exceptions.BadRequestException;
+import br.com.erudio.exceptions.GoneException;
+import br.com.erudio.model.PersonChange;
+import br.com.erudio.repositories.PersonChangeRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * The ordered feed of person changes written by {@link PersonChangeOutbox}.
+ * <p>
+ * A relay thread per instance numbers the committed outbox rows with the next feed positions,
+ * under the lock of the person_change_relay row, so positions are gap free and become visible
+ * in order whichever instance numbers them. Consumers resume after the last position they saw,
+ * from {@link #changes} or from an SSE stream.
+ * <p>
+ * The relay thread only numbers rows and signals. A dispatch thread then reads what follows each
+ * stream's position from the table, so streams also carry the changes numbered by other instances,
+ * and queues the events on the stream's bounded queue. A pool of senders writes them out, one task
+ * per stream at a time, so a slow consumer only holds up its own stream. A stream whose queue fills
+ * up is closed; the client reconnects with Last-Event-ID and resumes from the table.
+ * <p>
+ * Changes are kept for {@code app.changes.retention}; resuming from an older position answers
+ * 410 Gone, and the consumer has to resync from GET /person.
+ */
+@Profile("!reactive")
+@Component
+public class PersonChangeFeed {
+
+	private static final Duration CLEANUP_INTERVAL = Duration.ofHours(1);
+	private static final long RECONNECT_MILLIS = 1000;
+	private static final SseEventBuilder HEARTBEAT = SseEmitter.event().comment("heartbeat");
+
+	private Logger logger = Logger.getLogger(PersonChangeFeed.class.getName());
+
+	private final PersonChangeRepository repository;
+	private final TransactionTemplate transaction;
+	private final TransactionTemplate readOnly;
+	private final Duration pollInterval;
+	private final int batchSize;
+	private final Duration retention;
+	private final Duration streamTimeout;
+	private final Duration heartbeat;
+	private final int subscriberQueue;
+	private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+	private final ExecutorService dispatcher;
+	private final ExecutorService senders;
+	private final AtomicBoolean dispatchPending = new AtomicBoolean();
+
+	private volatile boolean running = true;
+	private Thread relay;
+	private Instant nextCleanup = Instant.now();
+
+	private static final class Subscriber {
+		final SseEmitter emitter;
+		final BlockingQueue<SseEventBuilder> queue;
+		// Set while a sender task owns the emitter, so its events go out one at a time and in order
+		final AtomicBoolean sending = new AtomicBoolean();
+		// Position of the last change queued
+		volatile long position;
+		volatile Instant lastQueued = Instant.now();
+		volatile boolean closed;
+		volatile boolean completed;
+		volatile Throwable error;
+
+		Subscriber(SseEmitter emitter, long position, int capacity) {
+			this.emitter = emitter;
+			this.position = position;
+			this.queue = new ArrayBlockingQueue<>(capacity);
+		}
+	}
+
+	public PersonChangeFeed(PersonChangeRepository repository, PlatformTransactionManager transactionManager,
+			@Value("${app.changes.poll-interval:200ms}") Duration pollInterval,
+			@Value("${app.changes.batch-size:500}") int batchSize,
+			@Value("${app.changes.retention:7d}") Duration retention,
+			@Value("${app.changes.stream-timeout:30m}") Duration streamTimeout,
+			@Value("${app.changes.heartbeat:15s}") Duration heartbeat,
+			@Value("${app.changes.subscriber-queue:1000}") int subscriberQueue) {
+		this.repository = repository;
+		this.transaction = new TransactionTemplate(transactionManager);
+		this.readOnly = new TransactionTemplate(transactionManager);
+		this.readOnly.setReadOnly(true);
+		this.pollInterval = pollInterval;
+		this.batchSize = batchSize;
+		this.retention = retention;
+		this.streamTimeout = streamTimeout;
+		this.heartbeat = heartbeat;
+		this.subscriberQueue = subscriberQueue;
+		this.dispatcher = Executors.newSingleThreadExecutor(runnable -> daemon(runnable, "person-change-dispatch"));
+		// Unbounded so a sender stuck on a stalled connection never keeps the other streams waiting
+		AtomicInteger senderCount = new AtomicInteger();
+		this.senders = Executors.newCachedThreadPool(
+				runnable -> daemon(runnable, "person-change-sse-" + senderCount.incrementAndGet()));
+	}
+
+	@PostConstruct
+	void start() {
+		relay = new Thread(this::run, "person-change-relay");
+		relay.setDaemon(true);
+		relay.start();
+	}
+
+	@PreDestroy
+	void stop() throws InterruptedException {
+		running = false;
+		if (relay != null) {
+			relay.interrupt();
+			relay.join(pollInterval.multipliedBy(10).toMillis());
+		}
+		dispatcher.shutdownNow();
+		subscribers.forEach(subscriber -> close(subscriber, null));
+		senders.shutdown();
+		// Senders blocked on stalled connections are daemons and are left behind
+		senders.awaitTermination(pollInterval.multipliedBy(10).toMillis(), TimeUnit.MILLISECONDS);
+	}
+
+	// Up to size changes after the since position, oldest first
+	public List<PersonChangeDTO> changes(long since, int size) {
+
+		logger.info("Finding person changes!");
+
+		checkPosition(since);
+		int limit = Math.min(Math.max(size, 1), PersonServices.MAX_PAGE_SIZE);
+		return readOnly.execute(tx -> after(since, limit)).stream().map(PersonChangeDTO::of).toList();
+	}
+
+	// Streams the changes after since, or from now on without it, as SSE events whose id is the position
+	public SseEmitter subscribe(Long since) {
+
+		logger.info("Streaming person changes!");
+
+		if (since != null) {
+			checkPosition(since);
+			// Fails with 410 now rather than on the stream
+			readOnly.executeWithoutResult(tx -> after(since, 1));
+		}
+		long position = since != null ? since : repository.findLastPosition();
+		return register(new SseEmitter(streamTimeout.toMillis()), position);
+	}
+
+	SseEmitter register(SseEmitter emitter, long position) {
+		Subscriber subscriber = new Subscriber(emitter, position, subscriberQueue);
+		emitter.onCompletion(() -> forget(subscriber));
+		emitter.onTimeout(() -> forget(subscriber));
+		emitter.onError(e -> forget(subscriber));
+		try {
+			// Sent as soon as the response starts, so the client has the headers without waiting for a change.
+			// Held by the emitter until the response starts, so this never blocks
+			emitter.send(SseEmitter.event().reconnectTime(RECONNECT_MILLIS));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		subscribers.add(subscriber);
+		return emitter;
+	}
+
+	// Numbers the committed changes not in the feed yet, in insert order
+	int relay() {
+		return transaction.execute(tx -> {
+			long last = repository.lockLastPosition();
+			List<PersonChange> pending = repository.findByPositionIsNullOrderByIdAsc(Limit.of(batchSize));
+			for (PersonChange change : pending) {
+				change.setPosition(++last);
+			}
+			if (!pending.isEmpty()) repository.updateLastPosition(last);
+			return pending.size();
+		});
+	}
+
+	// Queues for each stream what follows its position; streams at the same position share one read
+	void dispatch() {
+		dispatchPending.set(false);
+		Map<Long, List<Subscriber>> byPosition = new LinkedHashMap<>();
+		for (Subscriber subscriber : subscribers) {
+			byPosition.computeIfAbsent(subscriber.position, position -> new ArrayList<>()).add(subscriber);
+		}
+		byPosition.forEach((position, group) -> {
+			List<PersonChange> changes;
+			try {
+				changes = readOnly.execute(tx -> after(position, batchSize));
+			} catch (GoneException e) {
+				group.forEach(subscriber -> close(subscriber, e));
+				return;
+			}
+			for (Subscriber subscriber : group) {
+				enqueue(subscriber, changes);
+			}
+		});
+	}
+
+	// For consumers inside this instance (PersonSearchIndex), which poll without logging every read
+	List<PersonChange> read(long since, int limit) {
+		return readOnly.execute(tx -> after(since, limit));
+	}
+
+	long lastPosition() {
+		return repository.findLastPosition();
+	}
+
+	int subscriberCount() {
+		return subscribers.size();
+	}
+
+	void cleanup(Instant cutoff) {
+		transaction.executeWithoutResult(tx -> {
+			Long position = repository.findLastPositionBefore(cutoff);
+			if (position != null) repository.deleteUpToPosition(position);
+		});
+	}
+
+	private static void checkPosition(long since) {
+		if (since < 0) {
+			throw new BadRequestException("Position must not be negative!");
+		}
+	}
+
+	// Positions are contiguous, so a first change past since + 1, or none up to a last position that was
+	// already committed before the read, means the ones in between expired
+	private List<PersonChange> after(long since, int limit) {
+		long last = repository.findLastPosition();
+		List<PersonChange> changes = repository.findByPositionGreaterThanOrderByPositionAsc(since, Limit.of(limit));
+		boolean expired = changes.isEmpty()
+				? since < last
+				: changes.get(0).getPosition() > since + 1;
+		if (expired) {
+			throw new GoneException("Changes after position " + since + " have expired, resync from GET /person!");
+		}
+		return changes;
+	}
+
+	private void enqueue(Subscriber subscriber, List<PersonChange> changes) {
+		for (PersonChange change : changes) {
+			SseEventBuilder event = SseEmitter.event()
+					.id(String.valueOf(change.getPosition()))
+					.data(PersonChangeDTO.of(change), MediaType.APPLICATION_JSON);
+			if (!subscriber.queue.offer(event)) {
+				// Fell behind the feed; it resumes from its Last-Event-ID on reconnect
+				close(subscriber, null);
+				return;
+			}
+			subscriber.position = change.getPosition();
+		}
+		if (!changes.isEmpty()) {
+			subscriber.lastQueued = Instant.now();
+		} else if (subscriber.lastQueued.plus(heartbeat).isBefore(Instant.now()) && subscriber.queue.offer(HEARTBEAT)) {
+			// Keeps idle connections from being closed by proxies
+			subscriber.lastQueued = Instant.now();
+		}
+		schedule(subscriber);
+	}
+
+	// Completion goes through the sender too: the emitter's lock is held by a send that is stuck
+	private void close(Subscriber subscriber, Throwable error) {
+		subscribers.remove(subscriber);
+		subscriber.error = error;
+		subscriber.closed = true;
+		subscriber.queue.clear();
+		schedule(subscriber);
+	}
+
+	// The emitter is done already (completed, timed out or failed)
+	private void forget(Subscriber subscriber) {
+		subscribers.remove(subscriber);
+		subscriber.completed = true;
+		subscriber.closed = true;
+		subscriber.queue.clear();
+	}
+
+	private void schedule(Subscriber subscriber) {
+		if (subscriber.queue.isEmpty() && !subscriber.closed) return;
+		if (!subscriber.sending.compareAndSet(false, true)) return;
+		try {
+			senders.execute(() -> drain(subscriber));
+		} catch (RejectedExecutionException e) {
+			// Shutting down
+			subscriber.sending.set(false);
+		}
+	}
+
+	private void drain(Subscriber subscriber) {
+		try {
+			SseEventBuilder event;
+			while (!subscriber.closed && (event = subscriber.queue.poll()) != null) {
+				subscriber.emitter.send(event);
+			}
+			if (subscriber.closed && !subscriber.completed) {
+				subscriber.completed = true;
+				if (subscriber.error == null) subscriber.emitter.complete();
+				else subscriber.emitter.completeWithError(subscriber.error);
+			}
+		} catch (IOException | IllegalStateException e) {
+			forget(subscriber);
+		} finally {
+			subscriber.sending.set(false);
+		}
+		// Picks up what was queued, or a close, after the loop had stopped looking
+		if (subscriber.closed ? !subscriber.completed : !subscriber.queue.isEmpty()) schedule(subscriber);
+	}
+
+	// Wakes the dispatcher, which skips the rounds it is still busy with
+	private void signal() {
+		if (subscribers.isEmpty() || !dispatchPending.compareAndSet(false, true)) return;
+		try {
+			dispatcher.execute(() -> {
+				try {
+					dispatch();
+				} catch (RuntimeException e) {
+					if (running) logger.log(Level.SEVERE, "Person change dispatch failed!", e);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			// Shutting down
+		}
+	}
+
+	private static Thread daemon(Runnable runnable, String name) {
+		Thread thread = new Thread(runnable, name);
+		thread.setDaemon(true);
+		return thread;
+	}
+
+	private void run() {
+		while (running) {
+			try {
+				// A full batch means more are waiting, so go again without sleeping
+				boolean more = relay() == batchSize;
+				signal();
+				if (Instant.now().isAfter(nextCleanup)) {
+					cleanup(Instant.now().minus(retention));
+					nextCleanup = Instant.now().plus(CLEANUP_INTERVAL);
+				}
+				if (!more) Thread.sleep(pollInterval.toMillis());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (RuntimeException e) {
+				if (!running) return;
+				logger.log(Level.SEVERE, "Person change relay failed!", e);
+				try {
+					Thread.sleep(pollInterval.toMillis());
+				} catch (InterruptedException interrupted) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,118 @@
+package br.com.erudio.services;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.erudio.dto.PersonDTO;
+import br.com.erudio.model.PersonChange.Type;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Writes every {@link PersonChangedEvent} to the person_change outbox in the transaction that
+ * made the change, so a change reaches the feed if and only if its transaction commits.
+ * <p>
+ * The rows of one transaction are collected and sent as JDBC batches of {@link #BATCH_SIZE}, the
+ * last one right before it commits, so a batch create of 500 people adds one round-trip rather
+ * than 500 and a large import never holds more than one batch of payloads in memory.
+ * {@link PersonChangeFeed} orders and publishes them.
+ */
+@Profile("!reactive")
+@Component
+public class PersonChangeOutbox {
+
+	static final int BATCH_SIZE = 500;
+
+	private static final String INSERT = "insert into person_change "
+			+ "(person_id, type, person_version, payload, changed_at) values (?, ?, ?, ?, ?)";
+
+	@PersistenceContext
+	EntityManager entityManager;
+
+	@Autowired
+	ObjectMapper mapper;
+
+	private record Row(Long personId, Type type, Long version, String payload, Instant changedAt) {}
+
+	// Synchronous, so it runs in the publisher's transaction
+	@EventListener
+	public void onPersonChanged(PersonChangedEvent event) {
+		if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+			throw new IllegalStateException("Person changes must be published inside a transaction!");
+		}
+		List<Row> rows = pending();
+		rows.add(new Row(event.id(), event.type(),
+				event.isDeletion() ? null : event.person().getVersion(),
+				event.isDeletion() ? null : json(PersonDTO.of(event.person())),
+				Instant.now()));
+		if (rows.size() >= BATCH_SIZE) {
+			write(rows);
+			rows.clear();
+		}
+	}
+
+	private List<Row> pending() {
+		@SuppressWarnings("unchecked")
+		List<Row> rows = (List<Row>) TransactionSynchronizationManager.getResource(this);
+		if (rows != null) return rows;
+
+		List<Row> created = new ArrayList<>();
+		TransactionSynchronizationManager.bindResource(this, created);
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void beforeCommit(boolean readOnly) {
+				if (!created.isEmpty()) write(created);
+			}
+
+			@Override
+			public void afterCompletion(int status) {
+				TransactionSynchronizationManager.unbindResource(PersonChangeOutbox.this);
+			}
+		});
+		return created;
+	}
+
+	private void write(List<Row> rows) {
+		// Stored as UTC, which is how Hibernate reads the Instant back
+		Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+		entityManager.unwrap(Session.class).doWork(connection -> {
+			try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+				for (Row row : rows) {
+					insert.setLong(1, row.personId());
+					insert.setString(2, row.type().name());
+					if (row.version() == null) insert.setNull(3, Types.BIGINT);
+					else insert.setLong(3, row.version());
+					insert.setString(4, row.payload());
+					insert.setTimestamp(5, Timestamp.from(row.changedAt()), utc);
+					insert.addBatch();
+				}
+				insert.executeBatch();
+			}
+		});
+	}
+
+	private String json(PersonDTO person) {
+		try {
+			return mapper.writeValueAsString(person);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Person change could not be serialized", e);
+		}
+	}
+}
@@ -0,0 +1,27 @@
+package br.com.erudio.services;
+
+import br.com.erudio.model.Person;
+import br.com.erudio.model.PersonChange.Type;
+
+/**
+ * Published by {@link PersonServices} for every person created, updated or deleted, inside the
+ * transaction making the change. {@code person} holds the saved state and is {@code null} for a deletion.
+ */
+public record PersonChangedEvent(Long id, Person person, Type type) {
+
+	public static PersonChangedEvent created(Person person) {
+		return new PersonChangedEvent(person.getId(), person, Type.CREATE);
+	}
+
+	public static PersonChangedEvent updated(Person person) {
+		return new PersonChangedEvent(person.getId(), person, Type.UPDATE);
+	}
+
+	public static PersonChangedEvent deleted(Long id) {
+		return new PersonChangedEvent(id, null, Type.DELETE);
+	}
+
+	public boolean isDeletion() {
+		return person == null;
+	}
+}
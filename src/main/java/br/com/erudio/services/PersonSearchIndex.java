@@ -0,0 +1,340 @@
+package br.com.erudio.services;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.erudio.dto.PersonDTO;
+import br.com.erudio.exceptions.GoneException;
+import br.com.erudio.model.Person;
+import br.com.erudio.model.PersonChange;
+import br.com.erudio.model.PersonChange.Type;
+import br.com.erudio.repositories.PersonRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * In-memory trigram index over first name, last name, e-mail and address.
+ * <p>
+ * Each field is normalized (lower case, accents stripped) and every 3-character substring
+ * points at the ids containing it, so a term of 3+ characters matches anywhere in a field.
+ * Shorter terms match the start of a word through the 1 and 2 character word prefixes.
+ * Candidates are re-checked against the stored text, so gram collisions never leak
+ * into the results.
+ * <p>
+ * The index is per instance, but it follows the {@link PersonChangeFeed} rather than this
+ * instance's own writes, so every instance sees every write, in feed order, within a poll
+ * interval of the relay numbering it. It is built from the table on startup, and the build
+ * reads the feed position first: the changes numbered after it are replayed once the build is
+ * done, so a write that lands while the table is read is never lost, whatever the build saw of
+ * it. Falling further behind than the feed's retention builds it again. Writes are serialized,
+ * reads are lock free.
+ */
+@Profile("!reactive")
+@Component
+public class PersonSearchIndex {
+
+	static final int GRAM = 3;
+	private static final String WORD_PREFIX = "^";
+	private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+	private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+	// Ranking weight of a match in first name, last name, e-mail and address
+	private static final int[] FIELD_WEIGHTS = {3, 3, 2, 1};
+	private static final int WHOLE_WORD = 3;
+	private static final int WORD_START = 2;
+	private static final int INSIDE_WORD = 1;
+
+	private Logger logger = Logger.getLogger(PersonSearchIndex.class.getName());
+
+	private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+	private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+
+	@Autowired
+	PersonRepository repository;
+
+	@PersistenceContext
+	EntityManager entityManager;
+
+	@Autowired
+	PersonChangeFeed feed;
+
+	@Autowired
+	ObjectMapper mapper;
+
+	@Autowired
+	PlatformTransactionManager transactionManager;
+
+	@Value("${app.changes.poll-interval:200ms}")
+	Duration pollInterval;
+
+	@Value("${app.changes.batch-size:500}")
+	int batchSize;
+
+	private volatile boolean running = true;
+	private Thread follower;
+
+	// Feed position the index is up to date with; only the follower thread moves it
+	private long position;
+
+	public record Hits(List<Long> ids, long total) {}
+
+	private record Document(String[] fields, List<Set<String>> words, Set<String> grams) {}
+
+	private record Scored(Long id, int score) {}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		follower = new Thread(this::follow, "person-search-index");
+		follower.setDaemon(true);
+		follower.start();
+	}
+
+	@PreDestroy
+	void stop() throws InterruptedException {
+		running = false;
+		if (follower != null) {
+			follower.interrupt();
+			follower.join(pollInterval.multipliedBy(10).toMillis());
+		}
+	}
+
+	// Indexes every row and drops the ids that are gone, then starts following the feed from
+	// the position read before the rows
+	void rebuild() {
+
+		logger.info("Building the person search index!");
+
+		TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+		position = readOnly.execute(tx -> {
+			long last = feed.lastPosition();
+			Set<Long> gone = new HashSet<>(documents.keySet());
+			try (Stream<Person> people = repository.streamAll()) {
+				people.forEach(person -> {
+					index(person);
+					gone.remove(person.getId());
+					entityManager.detach(person);
+				});
+			}
+			gone.forEach(this::remove);
+			return last;
+		});
+	}
+
+	// Applies the next changes of the feed and returns how many there were
+	int catchUp() {
+		List<PersonChange> changes = feed.read(position, batchSize);
+		for (PersonChange change : changes) {
+			apply(change);
+			position = change.getPosition();
+		}
+		return changes.size();
+	}
+
+	void apply(PersonChange change) {
+		if (change.getType() == Type.DELETE) {
+			remove(change.getPersonId());
+		} else {
+			index(person(change.getPayload()));
+		}
+	}
+
+	public synchronized void index(Person person) {
+		remove(person.getId());
+
+		String[] fields = {
+				normalize(person.getFirstName()),
+				normalize(person.getLastName()),
+				normalize(person.getEmail()),
+				normalize(person.getAddress())};
+		List<Set<String>> words = new ArrayList<>(fields.length);
+		Set<String> grams = new HashSet<>();
+		for (String field : fields) {
+			Set<String> fieldWords = words(field);
+			words.add(fieldWords);
+			grams.addAll(grams(field));
+			for (String word : fieldWords) {
+				for (int length = 1; length < GRAM && length <= word.length(); length++) {
+					grams.add(WORD_PREFIX + word.substring(0, length));
+				}
+			}
+		}
+
+		Document document = new Document(fields, words, grams);
+		for (String gram : grams) {
+			postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(person.getId());
+		}
+		documents.put(person.getId(), document);
+	}
+
+	public synchronized void remove(Long id) {
+		Document document = documents.remove(id);
+		if (document == null) return;
+		for (String gram : document.grams()) {
+			postings.computeIfPresent(gram, (key, ids) -> {
+				ids.remove(id);
+				return ids.isEmpty() ? null : ids;
+			});
+		}
+	}
+
+	public int size() {
+		return documents.size();
+	}
+
+	/**
+	 * Returns one page of the ids matching every term of the query, best match first
+	 * and by id among equal scores, plus the total number of matches.
+	 */
+	public Hits search(String query, long offset, int limit) {
+		List<String> terms = List.copyOf(words(normalize(query)));
+		if (terms.isEmpty()) return new Hits(List.of(), 0);
+
+		Set<Long> candidates = intersectAll(terms.stream().map(this::candidates).toList());
+
+		List<Scored> matches = new ArrayList<>();
+		for (Long id : candidates) {
+			Document document = documents.get(id);
+			if (document == null) continue;
+			int score = score(document, terms);
+			if (score > 0) matches.add(new Scored(id, score));
+		}
+		matches.sort(Comparator.comparingInt(Scored::score).reversed().thenComparing(Scored::id));
+
+		List<Long> page = matches.stream()
+				.skip(offset)
+				.limit(limit)
+				.map(Scored::id)
+				.toList();
+		return new Hits(page, matches.size());
+	}
+
+	private Set<Long> candidates(String term) {
+		if (term.length() < GRAM) {
+			return postings.getOrDefault(WORD_PREFIX + term, Set.of());
+		}
+		return intersectAll(grams(term).stream()
+				.map(gram -> postings.getOrDefault(gram, Set.of()))
+				.toList());
+	}
+
+	// Every term has to match; the score adds up the best match of each term
+	private static int score(Document document, List<String> terms) {
+		int total = 0;
+		for (String term : terms) {
+			int best = 0;
+			for (int field = 0; field < document.fields().length; field++) {
+				best = Math.max(best, FIELD_WEIGHTS[field]
+						* match(document.fields()[field], document.words().get(field), term));
+			}
+			if (best == 0) return 0;
+			total += best;
+		}
+		return total;
+	}
+
+	private static int match(String field, Set<String> words, String term) {
+		if (words.contains(term)) return WHOLE_WORD;
+		for (String word : words) {
+			if (word.startsWith(term)) return WORD_START;
+		}
+		return term.length() >= GRAM && field.contains(term) ? INSIDE_WORD : 0;
+	}
+
+	// Starts from the smallest set so common grams like "com" never get copied
+	private static Set<Long> intersectAll(List<Set<Long>> sets) {
+		List<Set<Long>> bySize = new ArrayList<>(sets);
+		bySize.sort(Comparator.comparingInt(Set::size));
+		Set<Long> result = new HashSet<>(bySize.get(0));
+		for (int i = 1; i < bySize.size() && !result.isEmpty(); i++) {
+			result.retainAll(bySize.get(i));
+		}
+		return result;
+	}
+
+	private static Set<String> grams(String text) {
+		Set<String> grams = new HashSet<>();
+		for (int i = 0; i + GRAM <= text.length(); i++) {
+			grams.add(text.substring(i, i + GRAM));
+		}
+		return grams;
+	}
+
+	private static Set<String> words(String text) {
+		Set<String> words = new HashSet<>();
+		for (String word : WORD_SEPARATOR.split(text)) {
+			if (!word.isEmpty()) words.add(word);
+		}
+		return words;
+	}
+
+	private void follow() {
+		boolean built = false;
+		while (running) {
+			try {
+				if (!built) {
+					rebuild();
+					built = true;
+				}
+				// A full batch means more are waiting, so go again without sleeping
+				if (catchUp() < batchSize) Thread.sleep(pollInterval.toMillis());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (GoneException e) {
+				logger.warning("Person search index fell behind the change feed, rebuilding!");
+				built = false;
+			} catch (RuntimeException e) {
+				if (!running) return;
+				logger.log(Level.SEVERE, "Person search index update failed!", e);
+				try {
+					Thread.sleep(pollInterval.toMillis());
+				} catch (InterruptedException interrupted) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+	}
+
+	private Person person(String payload) {
+		try {
+			PersonDTO person = mapper.readValue(payload, PersonDTO.class);
+			return new Person(person.id(), person.firstName(), person.lastName(), person.email(),
+					person.address(), person.gender());
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Person change could not be read", e);
+		}
+	}
+
+	static String normalize(String text) {
+		if (text == null) return "";
+		String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+		return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+	}
+}
@@ -1,73 +1,358 @@
 package br.com.erudio.services;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
+import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import br.com.erudio.config.CacheConfig;
+import br.com.erudio.config.MetricsConfig;
+import br.com.erudio.config.ReplicaRouting;
+import br.com.erudio.dto.PersonDTO;
+import br.com.erudio.dto.PersonLookup;
+import br.com.erudio.exceptions.BadRequestException;
+import br.com.erudio.exceptions.DuplicateEmailException;
+import br.com.erudio.exceptions.PreconditionFailedException;
 import br.com.erudio.exceptions.ResourceNotFoundException;
 import br.com.erudio.model.Person;
+import br.com.erudio.repositories.PersonFieldsRepository;
 import br.com.erudio.repositories.PersonRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 
+@Profile("!reactive")
 @Service
+@Timed(MetricsConfig.PERSON_SERVICE_TIMER)
 public class PersonServices {
 	
+	public static final int DEFAULT_PAGE_SIZE = 50;
+	public static final int MAX_PAGE_SIZE = 500;
+	public static final int BATCH_CHUNK_SIZE = 500;
+	public static final int MAX_LOOKUP_IDS = 500;
+	public static final int LOOKUP_CHUNK_SIZE = 100;
+	
+	private static final String UNIQUE_EMAIL_CONSTRAINT = "uk_person_email";
+	
 	private Logger logger = Logger.getLogger(PersonServices.class.getName());
 	
 	@Autowired
 	PersonRepository repository;
+	
+	@PersistenceContext
+	EntityManager entityManager;
+	
+	@Autowired
+	PersonSearchIndex searchIndex;
+	
+	@Autowired
+	ApplicationEventPublisher events;
+	
+	@Autowired
+	RecentWrites recentWrites;
+	
+	@Autowired(required = false)
+	CacheManager cacheManager;
 
-	public List<Person> findAll() {
+	@Transactional(readOnly = true)
+	public Slice<PersonDTO> findAll(Long lastId, int size) {
 
-		logger.info("Finding all people!");
+		logger.info("Finding one page of people!");
 
-		return repository.findAll();
+		int pageSize = pageSize(size);
+		// Fetch one extra row to know whether there is a next page without a count query
+		return slice(repository.findDTOsByIdGreaterThan(afterId(lastId), Limit.of(pageSize + 1)), pageSize);
+	}
+
+	@Transactional(readOnly = true)
+	public Slice<Map<String, Object>> findAll(Long lastId, int size, List<String> fields) {
+
+		logger.info("Finding one page of people!");
+
+		int pageSize = pageSize(size);
+		return slice(repository.findFieldsByIdGreaterThan(selectFields(fields), afterId(lastId), pageSize + 1), pageSize);
+	}
+
+	@Transactional(readOnly = true)
+	public void export(Consumer<PersonDTO> consumer) {
+
+		logger.info("Exporting all people!");
+
+		// DTOs are never managed, so the persistence context stays empty however many rows flow through
+		try (var people = repository.streamAllDTOs()) {
+			people.forEach(consumer);
+		}
 	}
 
+	// sync: concurrent misses for the same id wait for one load instead of each running the SELECT.
+	// A missing id is not cached, so its waiters then run the lookup themselves
+	@Transactional(readOnly = true)
+	@Cacheable(value = CacheConfig.PERSON_CACHE, sync = true)
 	public Person findById(Long id) {
 		
 		logger.info("Finding one person!");
 		
-		return repository.findById(id)
+		// A row this instance just wrote is read from the primary, so replication lag
+		// neither shows up in the response nor ends up in the cache
+		return ReplicaRouting.onPrimaryIf(recentWrites.contains(id), () -> repository.findById(id))
 			.orElseThrow(() -> new ResourceNotFoundException("No records found for this ID!"));
 	}
 	
+	@Transactional(readOnly = true)
+	public PersonLookup findByIds(List<Long> ids) {
+		
+		logger.info("Finding people by ids!");
+		
+		var requested = new LinkedHashSet<Long>(ids);
+		requested.remove(null);
+		if (requested.isEmpty()) {
+			throw new BadRequestException("At least one id is required!");
+		}
+		if (requested.size() > MAX_LOOKUP_IDS) {
+			throw new BadRequestException("At most " + MAX_LOOKUP_IDS + " ids per request!");
+		}
+		
+		// Ids in the person cache are served from it, the rest are loaded together
+		Cache cache = cacheManager == null ? null : cacheManager.getCache(CacheConfig.PERSON_CACHE);
+		Map<Long, Person> found = new HashMap<>();
+		List<Long> misses = new ArrayList<>();
+		for (Long id : requested) {
+			Person cached = cache == null ? null : cache.get(id, Person.class);
+			if (cached != null) found.put(id, cached);
+			else misses.add(id);
+		}
+		if (!misses.isEmpty()) {
+			// One IN query per chunk, after the second-level cache and the persistence context are checked;
+			// missing ids come back as nulls. The whole load goes to the primary if any id was just written
+			List<Person> loaded = ReplicaRouting.onPrimaryIf(misses.stream().anyMatch(recentWrites::contains),
+					() -> entityManager.unwrap(Session.class)
+						.byMultipleIds(Person.class)
+						.withBatchSize(LOOKUP_CHUNK_SIZE)
+						.multiLoad(misses));
+			for (Person person : loaded) {
+				if (person == null) continue;
+				found.put(person.getId(), person);
+				if (cache != null) cache.putIfAbsent(person.getId(), person);
+			}
+		}
+		
+		List<Person> people = new ArrayList<>(found.size());
+		List<Long> missing = new ArrayList<>();
+		for (Long id : requested) {
+			Person person = found.get(id);
+			if (person != null) people.add(person);
+			else missing.add(id);
+		}
+		return new PersonLookup(people, missing);
+	}
+	
+	@Transactional(readOnly = true)
+	public Page<PersonDTO> search(String query, int page, int size) {
+		
+		logger.info("Searching people!");
+		
+		return search(query, page, size, repository::findDTOsByIdIn, PersonDTO::id);
+	}
+	
+	@Transactional(readOnly = true)
+	public Page<Map<String, Object>> search(String query, int page, int size, List<String> fields) {
+		
+		logger.info("Searching people!");
+		
+		List<String> selected = selectFields(fields);
+		return search(query, page, size, ids -> repository.findFieldsByIdIn(selected, ids),
+				row -> (Long) row.get("id"));
+	}
+	
+	private <T> Page<T> search(String query, int page, int size,
+			Function<List<Long>, List<T>> load, Function<T, Long> idOf) {
+		if (query == null || query.isBlank()) {
+			throw new BadRequestException("Search query must not be blank!");
+		}
+		int pageNumber = Math.max(page, 0);
+		int pageSize = pageSize(size);
+		
+		// The index only ranks ids; the rows themselves come from one IN query
+		PersonSearchIndex.Hits hits = searchIndex.search(query, (long) pageNumber * pageSize, pageSize);
+		if (hits.ids().isEmpty()) {
+			return new PageImpl<>(List.of(), PageRequest.of(pageNumber, pageSize), hits.total());
+		}
+		Map<Long, T> found = load.apply(hits.ids()).stream()
+				.collect(Collectors.toMap(idOf, Function.identity()));
+		List<T> content = hits.ids().stream()
+				.map(found::get)
+				.filter(Objects::nonNull)
+				.toList();
+		return new PageImpl<>(content, PageRequest.of(pageNumber, pageSize), hits.total());
+	}
+	
+	@Transactional
 	public Person create(Person person) {
 
 		logger.info("Creating one person!");
 
-		Optional<Person> savedPerson = repository.findByEmail(person.getEmail());
-		if (savedPerson.isPresent()){
-			throw new ResourceNotFoundException(
-					"Person already exists with given e-mail: " + person.getEmail());
+		// The unique index on email rejects duplicates, so there is no pre-check SELECT
+		try {
+			Person saved = repository.saveAndFlush(person);
+			events.publishEvent(PersonChangedEvent.created(saved));
+			return saved;
+		} catch (DataIntegrityViolationException e) {
+			throw duplicateEmailOr(e, "Person already exists with given e-mail: " + person.getEmail());
 		}
+	}
+	
+	@Transactional
+	public int createAll(Iterator<Person> people) {
+
+		logger.info("Creating a batch of people!");
 
-		return repository.save(person);
+		int created = 0;
+		List<Person> chunk = new ArrayList<>(BATCH_CHUNK_SIZE);
+		while (people.hasNext()) {
+			chunk.add(people.next());
+			if (chunk.size() == BATCH_CHUNK_SIZE) {
+				created += saveChunk(chunk);
+				chunk.clear();
+			}
+		}
+		if (!chunk.isEmpty()) {
+			created += saveChunk(chunk);
+		}
+		return created;
+	}
+
+	private int saveChunk(List<Person> chunk) {
+		var emails = new HashSet<String>();
+		for (Person person : chunk) {
+			if (!emails.add(person.getEmail())) {
+				throw new DuplicateEmailException(
+						"Person already exists with given e-mail: " + person.getEmail());
+			}
+			person.setId(null);
+		}
+
+		List<String> existing = repository.findExistingEmails(emails);
+		if (!existing.isEmpty()) {
+			throw new DuplicateEmailException(
+					"Person already exists with given e-mail: " + String.join(", ", existing));
+		}
+
+		// Send the JDBC batches and release the managed entities before the next chunk. An e-mail
+		// inserted by another request since the check above still trips the unique index here
+		try {
+			repository.saveAll(chunk);
+			entityManager.flush();
+		} catch (DataIntegrityViolationException e) {
+			throw duplicateEmailOr(e, "Person already exists with one of the given e-mails!");
+		}
+		entityManager.clear();
+		chunk.forEach(person -> events.publishEvent(PersonChangedEvent.created(person)));
+		return chunk.size();
 	}
 	
+	// The cache entry is evicted after the commit (PersonCacheEviction)
+	@Transactional
 	public Person update(Person person) {
 		
 		logger.info("Updating one person!");
 		
-		var entity = repository.findById(person.getId())
-			.orElseThrow(() -> new ResourceNotFoundException("No records found for this ID!"));
-
-		entity.setFirstName(person.getFirstName());
-		entity.setLastName(person.getLastName());
-		entity.setAddress(person.getAddress());
-		entity.setGender(person.getGender());
+		// A version on the payload (or from If-Match) makes the update conditional
+		Long expectedVersion = person.getVersion();
+		int updated;
+		try {
+			updated = repository.updatePerson(person.getId(), expectedVersion, person.getFirstName(),
+					person.getLastName(), person.getEmail(), person.getAddress(), person.getGender());
+		} catch (DataIntegrityViolationException e) {
+			throw duplicateEmailOr(e, "Person already exists with given e-mail: " + person.getEmail());
+		}
+		if (updated == 0) {
+			throw notFoundOrStale(person.getId(), expectedVersion);
+		}
 		
-		return repository.save(person);
+		// The response (ETag) and the change event carry the version now stored
+		person.setVersion(expectedVersion == null ? repository.findVersionById(person.getId()) : expectedVersion + 1);
+		events.publishEvent(PersonChangedEvent.updated(person));
+		return person;
 	}
 	
-	public void delete(Long id) {
+	@Transactional
+	public void delete(Long id, Long expectedVersion) {
 		
 		logger.info("Deleting one person!");
 		
-		var entity = repository.findById(id)
-				.orElseThrow(() -> new ResourceNotFoundException("No records found for this ID!"));
-		repository.delete(entity);
+		if (repository.deletePersonById(id, expectedVersion) == 0) {
+			throw notFoundOrStale(id, expectedVersion);
+		}
+		events.publishEvent(PersonChangedEvent.deleted(id));
+	}
+
+	private static int pageSize(int size) {
+		return Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+	}
+
+	private static long afterId(Long lastId) {
+		return lastId == null ? 0L : lastId;
+	}
+
+	private static <T> Slice<T> slice(List<T> rows, int pageSize) {
+		boolean hasNext = rows.size() > pageSize;
+		return new SliceImpl<>(hasNext ? rows.subList(0, pageSize) : rows, PageRequest.ofSize(pageSize), hasNext);
+	}
+
+	// The id is always selected, first, since the cursor and search ordering need it
+	private static List<String> selectFields(List<String> requested) {
+		var selected = new LinkedHashSet<String>();
+		selected.add("id");
+		for (String field : requested) {
+			String name = field.trim();
+			if (!PersonFieldsRepository.FIELDS.contains(name)) {
+				throw new BadRequestException("Unknown field: " + name);
+			}
+			selected.add(name);
+		}
+		return List.copyOf(selected);
+	}
+
+	// Only reached on the failure path, so the extra round-trip is not paid by successful writes
+	private RuntimeException notFoundOrStale(Long id, Long expectedVersion) {
+		if (expectedVersion != null && repository.existsById(id)) {
+			return new PreconditionFailedException("Person was modified by another request!");
+		}
+		return new ResourceNotFoundException("No records found for this ID!");
+	}
+
+	private static RuntimeException duplicateEmailOr(DataIntegrityViolationException e, String message) {
+		return isDuplicateEmail(e) ? new DuplicateEmailException(message) : e;
+	}
+
+	private static boolean isDuplicateEmail(DataIntegrityViolationException e) {
+		// Drivers name the violated index in the message, with varying case and table prefixes
+		String message = e.getMostSpecificCause().getMessage();
+		return message != null && message.toLowerCase().contains(UNIQUE_EMAIL_CONSTRAINT);
 	}
 }
@@ -0,0 +1,198 @@
+package br.com.erudio.services;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import br.com.erudio.dto.WriteStatus;
+import br.com.erudio.dto.WriteStatus.Operation;
+import br.com.erudio.exceptions.ServiceUnavailableException;
+import br.com.erudio.exceptions.TooManyRequestsException;
+import br.com.erudio.model.Person;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Write-behind for {@code create} and {@code update}: writes are queued in memory and one
+ * writer thread commits whatever has piled up in a single transaction, so a burst pays for
+ * one commit per batch instead of one per request. If the batch fails, its writes are
+ * retried one transaction each, so a single bad write only fails itself.
+ * <p>
+ * Durability: a queued write lives only in this JVM's memory until its status is WRITTEN.
+ * A graceful shutdown stops taking writes (503) and drains the queue for up to the shutdown
+ * timeout; a crash, a kill or a timed out drain loses the writes still queued. Callers that
+ * need the write to survive must poll the status until WRITTEN, or use the synchronous API.
+ */
+@Profile("write-behind & !reactive")
+@Component
+public class PersonWriteBehind {
+
+	static final long RETRY_AFTER_SECONDS = 1;
+	private static final long POLL_MILLIS = 100;
+
+	private Logger logger = Logger.getLogger(PersonWriteBehind.class.getName());
+
+	private final PersonServices services;
+	private final TransactionTemplate transaction;
+	private final BlockingQueue<Write> queue;
+	private final int batchSize;
+	private final Duration shutdownTimeout;
+	private final Cache<String, WriteStatus> statuses;
+
+	// Submitters check accepting and offer under the read lock, and stop closes under the write lock,
+	// so once the writer sees the queue closed, nothing more can land in it
+	private final ReadWriteLock closing = new ReentrantReadWriteLock();
+	private volatile boolean accepting = true;
+	private Thread writer;
+
+	private record Write(WriteStatus status, Person person) {}
+
+	public PersonWriteBehind(PersonServices services, PlatformTransactionManager transactionManager,
+			@Value("${app.write-behind.capacity:10000}") int capacity,
+			@Value("${app.write-behind.batch-size:500}") int batchSize,
+			@Value("${app.write-behind.status-retention:1h}") Duration statusRetention,
+			@Value("${app.write-behind.shutdown-timeout:30s}") Duration shutdownTimeout) {
+		this.services = services;
+		this.transaction = new TransactionTemplate(transactionManager);
+		this.queue = new ArrayBlockingQueue<>(capacity);
+		this.batchSize = batchSize;
+		this.shutdownTimeout = shutdownTimeout;
+		this.statuses = Caffeine.newBuilder()
+			.expireAfterWrite(statusRetention)
+			.maximumSize(capacity * 10L)
+			.build();
+	}
+
+	@PostConstruct
+	void start() {
+		writer = new Thread(this::run, "person-write-behind");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	public WriteStatus submit(Operation operation, Person person) {
+
+		logger.info("Queueing one person write!");
+
+		closing.readLock().lock();
+		try {
+			if (!accepting) {
+				throw new ServiceUnavailableException("Person writes are shutting down, retry later!", RETRY_AFTER_SECONDS);
+			}
+			WriteStatus status = WriteStatus.queued(UUID.randomUUID().toString(), operation, person.getId());
+			// Registered first, so polling right after the 202 never misses it
+			statuses.put(status.trackingId(), status);
+			if (!queue.offer(new Write(status, person))) {
+				statuses.invalidate(status.trackingId());
+				throw new TooManyRequestsException("Person write queue is full, retry later!", RETRY_AFTER_SECONDS);
+			}
+			return status;
+		} finally {
+			closing.readLock().unlock();
+		}
+	}
+
+	public Optional<WriteStatus> status(String trackingId) {
+		return Optional.ofNullable(statuses.getIfPresent(trackingId));
+	}
+
+	public int queued() {
+		return queue.size();
+	}
+
+	// Takes everything queued right now, up to batchSize, waiting up to timeout for the first write
+	int drain(long timeout, TimeUnit unit) throws InterruptedException {
+		Write first = queue.poll(timeout, unit);
+		if (first == null) return 0;
+		List<Write> batch = new ArrayList<>(batchSize);
+		batch.add(first);
+		queue.drainTo(batch, batchSize - 1);
+		write(batch);
+		return batch.size();
+	}
+
+	@PreDestroy
+	void stop() throws InterruptedException {
+		closing.writeLock().lock();
+		try {
+			accepting = false;
+		} finally {
+			closing.writeLock().unlock();
+		}
+		writer.join(shutdownTimeout.toMillis());
+		if (!queue.isEmpty()) {
+			logger.warning("Shutdown timed out, dropping " + queue.size() + " queued person writes!");
+		}
+	}
+
+	private void run() {
+		while (accepting || !queue.isEmpty()) {
+			try {
+				drain(POLL_MILLIS, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (RuntimeException e) {
+				logger.log(Level.SEVERE, "Person write-behind batch failed!", e);
+			}
+		}
+	}
+
+	private void write(List<Write> batch) {
+		try {
+			List<Person> written = transaction.execute(tx -> batch.stream().map(this::apply).toList());
+			for (int i = 0; i < batch.size(); i++) {
+				complete(batch.get(i), written.get(i));
+			}
+		} catch (RuntimeException e) {
+			for (Write write : batch) {
+				writeAlone(write);
+			}
+		}
+	}
+
+	private void writeAlone(Write write) {
+		try {
+			complete(write, transaction.execute(tx -> apply(write)));
+		} catch (RuntimeException e) {
+			statuses.put(write.status().trackingId(), write.status().failed(e.getMessage()));
+		}
+	}
+
+	private void complete(Write write, Person person) {
+		statuses.put(write.status().trackingId(), write.status().written(person.getId()));
+	}
+
+	// Works on a copy: a rolled back batch leaves ids and versions behind on the entities it touched
+	private Person apply(Write write) {
+		Person person = copy(write.person());
+		return write.status().operation() == Operation.CREATE
+				? services.create(person)
+				: services.update(person);
+	}
+
+	private static Person copy(Person person) {
+		Person copy = new Person(person.getId(), person.getFirstName(), person.getLastName(), person.getEmail(),
+				person.getAddress(), person.getGender());
+		copy.setVersion(person.getVersion());
+		return copy;
+	}
+}
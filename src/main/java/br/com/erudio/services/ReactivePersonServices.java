@@ -0,0 +1,97 @@
+package br.com.erudio.services;
+
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import br.com.erudio.exceptions.DuplicateEmailException;
+import br.com.erudio.exceptions.PreconditionFailedException;
+import br.com.erudio.exceptions.ResourceNotFoundException;
+import br.com.erudio.model.Person;
+import br.com.erudio.repositories.ReactivePersonIdAllocator;
+import br.com.erudio.repositories.ReactivePersonRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Profile("reactive")
+@Service
+public class ReactivePersonServices {
+	
+	private Logger logger = Logger.getLogger(ReactivePersonServices.class.getName());
+	
+	@Autowired
+	ReactivePersonRepository repository;
+	
+	@Autowired
+	ReactivePersonIdAllocator idAllocator;
+
+	public Flux<Person> findAll() {
+
+		logger.info("Finding all people!");
+
+		return repository.findAll();
+	}
+
+	public Mono<Person> findById(Long id) {
+		
+		logger.info("Finding one person!");
+		
+		return repository.findById(id)
+			.switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("No records found for this ID!")));
+	}
+	
+	public Mono<Person> create(Person person) {
+
+		logger.info("Creating one person!");
+
+		return repository.findByEmail(person.getEmail())
+			.flatMap(saved -> Mono.<Person>error(new DuplicateEmailException(
+					"Person already exists with given e-mail: " + person.getEmail())))
+			.switchIfEmpty(Mono.defer(() -> idAllocator.nextId()
+				.flatMap(id -> {
+					person.setId(id);
+					person.setVersion(null);
+					return repository.insert(person);
+				})));
+	}
+	
+	public Mono<Person> update(Person person) {
+		
+		logger.info("Updating one person!");
+		
+		Long expectedVersion = person.getVersion();
+		return repository.updatePerson(person)
+			.flatMap(updated -> {
+				if (updated == 0) return notFoundOrStale(person.getId(), expectedVersion);
+				Mono<Long> version = expectedVersion == null
+					? repository.findVersionById(person.getId())
+					: Mono.just(expectedVersion + 1);
+				return version.map(stored -> {
+					person.setVersion(stored);
+					return person;
+				});
+			});
+	}
+	
+	public Mono<Void> delete(Long id) {
+		
+		logger.info("Deleting one person!");
+		
+		return repository.deleteById(id)
+			.flatMap(deleted -> deleted == 0
+				? Mono.error(new ResourceNotFoundException("No records found for this ID!"))
+				: Mono.empty());
+	}
+
+	private Mono<Person> notFoundOrStale(Long id, Long expectedVersion) {
+		if (expectedVersion == null) {
+			return Mono.error(new ResourceNotFoundException("No records found for this ID!"));
+		}
+		return repository.findById(id)
+			.flatMap(current -> Mono.<Person>error(
+					new PreconditionFailedException("Person was modified by another request!")))
+			.switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("No records found for this ID!")));
+	}
+}
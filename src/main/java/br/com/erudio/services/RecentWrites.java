@@ -0,0 +1,40 @@
+package br.com.erudio.services;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Remembers the ids written by this instance for as long as the replicas may lag behind
+ * (app.datasource.read-your-writes-window), so reads of those ids can go to the primary.
+ */
+@Profile("!reactive")
+@Component
+public class RecentWrites {
+
+	private static final long MAXIMUM_SIZE = 100_000;
+
+	private final Cache<Long, Boolean> written;
+
+	public RecentWrites(@Value("${app.datasource.read-your-writes-window:5s}") Duration window) {
+		this.written = Caffeine.newBuilder()
+			.expireAfterWrite(window)
+			.maximumSize(MAXIMUM_SIZE)
+			.build();
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onPersonChanged(PersonChangedEvent event) {
+		written.put(event.id(), Boolean.TRUE);
+	}
+
+	public boolean contains(Long id) {
+		return written.getIfPresent(id) != null;
+	}
+}
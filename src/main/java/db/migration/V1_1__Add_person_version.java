@@ -0,0 +1,37 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Adds the optimistic locking version to databases baselined at V1.
+ * <p>
+ * Those were created by ddl-auto: update, by the app before {@code @Version} (no version column)
+ * or after it (a nullable one), and MySQL has no {@code add column if not exists}, so the column
+ * is looked up first. Rows written without a version start at 0.
+ */
+public class V1_1__Add_person_version extends BaseJavaMigration {
+
+	@Override
+	public void migrate(Context context) throws Exception {
+		Connection connection = context.getConnection();
+		try (Statement statement = connection.createStatement()) {
+			if (!hasColumn(connection, "person", "version")) {
+				statement.execute("alter table person add column version bigint");
+			}
+			statement.executeUpdate("update person set version = 0 where version is null");
+		}
+	}
+
+	private static boolean hasColumn(Connection connection, String table, String column) throws SQLException {
+		try (ResultSet columns = connection.getMetaData()
+				.getColumns(connection.getCatalog(), connection.getSchema(), table, column)) {
+			return columns.next();
+		}
+	}
+}
@@ -0,0 +1,19 @@
+-- Schema as previously generated by ddl-auto: update.
+-- Databases created that way are baselined at this version and start at V1_1,
+-- which adds the version column where the app predates it.
+create table person (
+    id bigint not null,
+    address varchar(100) not null,
+    email varchar(100) not null,
+    first_name varchar(80) not null,
+    gender varchar(6) not null,
+    last_name varchar(80) not null,
+    version bigint,
+    primary key (id)
+) engine=InnoDB;
+
+create table person_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into person_seq values (1);
@@ -0,0 +1,16 @@
+-- Backs findByEmail and the duplicate check in PersonServices.create
+create unique index uk_person_email on person (email);
+
+-- Backs the first/last name queries; last_name first so it also serves last-name-only lookups
+create index idx_person_last_first on person (last_name, first_name);
+
+-- Rows written with IDENTITY ids may be ahead of the pooled sequence
+create table if not exists person_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into person_seq (next_val)
+    select 1 from dual where not exists (select 1 from person_seq);
+
+update person_seq
+    set next_val = greatest(next_val, (select coalesce(max(id), 0) + 51 from person));
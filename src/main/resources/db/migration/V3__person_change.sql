@@ -0,0 +1,31 @@
+-- Transactional outbox behind the person change feed (GET /person/changes and /person/changes/stream).
+-- PersonServices writes one row per create, update and delete in the same transaction; the relay then
+-- numbers committed rows with a gap-free feed_position, which is the consumers' cursor.
+-- Auto-increment rather than a pooled sequence: the ids follow insert order, and changes to one person
+-- are inserted under its row lock, so numbering by id keeps each person's changes in order.
+create table person_change (
+    id bigint not null auto_increment,
+    feed_position bigint,
+    person_id bigint not null,
+    type varchar(6) not null,
+    person_version bigint,
+    payload varchar(1000),
+    changed_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+-- Backs the cursor reads; rows the relay has not numbered yet share the null key, in id order
+create unique index uk_person_change_position on person_change (feed_position);
+
+-- Backs the retention cleanup
+create index idx_person_change_changed_at on person_change (changed_at);
+
+-- One row, locked by the relay of every instance so only one numbers changes at a time. It also keeps
+-- the last position after the retention cleanup has removed the changes that held it
+create table person_change_relay (
+    id int not null,
+    last_position bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+insert into person_change_relay (id, last_position) values (1, 0);
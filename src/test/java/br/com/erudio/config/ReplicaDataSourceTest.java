@@ -0,0 +1,144 @@
+package br.com.erudio.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willReturn;
+import static org.mockito.BDDMockito.willThrow;
+
+@ExtendWith(MockitoExtension.class)
+public class ReplicaDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica0;
+
+    @Mock
+    private DataSource replica1;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replica0Connection;
+
+    @Mock
+    private Connection replica1Connection;
+
+    private ReplicaDataSource dataSource;
+
+    @BeforeEach
+    void setup() {
+        // Given / Arrange
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", replica0);
+        replicas.put("replica-1", replica1);
+        dataSource = new ReplicaDataSource(primary, replicas, Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    @DisplayName("Given Healthy Replicas When Get Connection then Rotate Between Replicas")
+    void testGivenHealthyReplicas_WhenGetConnection_thenRotateBetweenReplicas() throws SQLException {
+        // Given / Arrange
+        given(replica0.getConnection()).willReturn(replica0Connection);
+        given(replica1.getConnection()).willReturn(replica1Connection);
+
+        // When / Act / Then / Assert
+        assertSame(replica0Connection, dataSource.getConnection());
+        assertSame(replica1Connection, dataSource.getConnection());
+        assertSame(replica0Connection, dataSource.getConnection());
+    }
+
+    @Test
+    @DisplayName("Given Failing Replica When Get Connection then Eject It And Use The Next One")
+    void testGivenFailingReplica_WhenGetConnection_thenEjectItAndUseTheNextOne() throws SQLException {
+        // Given / Arrange
+        willThrow(new SQLException("Connection refused")).given(replica0).getConnection();
+        given(replica1.getConnection()).willReturn(replica1Connection);
+
+        // When / Act
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+
+        // Then / Assert
+        assertSame(replica1Connection, first);
+        assertSame(replica1Connection, second);
+        assertEquals(1, dataSource.healthyReplicas());
+    }
+
+    @Test
+    @DisplayName("Given All Replicas Down When Get Connection then Fall Back To Primary")
+    void testGivenAllReplicasDown_WhenGetConnection_thenFallBackToPrimary() throws SQLException {
+        // Given / Arrange
+        willThrow(new SQLException("Connection refused")).given(replica0).getConnection();
+        willThrow(new SQLException("Connection refused")).given(replica1).getConnection();
+        given(primary.getConnection()).willReturn(primaryConnection);
+
+        // When / Act
+        Connection connection = dataSource.getConnection();
+
+        // Then / Assert
+        assertSame(primaryConnection, connection);
+        assertEquals(0, dataSource.healthyReplicas());
+    }
+
+    @Test
+    @DisplayName("Given Ejected Replica Recovered When Health Check Runs then Readmit It")
+    void testGivenEjectedReplicaRecovered_WhenHealthCheckRuns_thenReadmitIt() throws SQLException {
+        // Given / Arrange
+        willThrow(new SQLException("Connection refused")).given(replica0).getConnection();
+        given(replica1.getConnection()).willReturn(replica1Connection);
+        dataSource.getConnection();
+
+        willReturn(replica0Connection).given(replica0).getConnection();
+        given(replica0Connection.isValid(anyInt())).willReturn(true);
+
+        // When / Act
+        dataSource.checkEjected();
+
+        // Then / Assert
+        assertEquals(2, dataSource.healthyReplicas());
+    }
+
+    @Test
+    @DisplayName("Given Primary Pinned When Get Connection then Use Primary")
+    void testGivenPrimaryPinned_WhenGetConnection_thenUsePrimary() throws SQLException {
+        // Given / Arrange
+        given(primary.getConnection()).willReturn(primaryConnection);
+
+        // When / Act
+        Connection connection = ReplicaRouting.onPrimaryIf(true, () -> {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        // Then / Assert
+        assertSame(primaryConnection, connection);
+        assertFalse(ReplicaRouting.isPrimaryPinned());
+    }
+}
@@ -1,10 +1,27 @@
 package br.com.erudio.controllers;
 
+import br.com.erudio.config.WebConfig;
+import br.com.erudio.dto.PersonChangeDTO;
+import br.com.erudio.dto.PersonDTO;
+import br.com.erudio.dto.PersonLookup;
+import br.com.erudio.dto.WriteStatus;
+import br.com.erudio.exceptions.DuplicateEmailException;
+import br.com.erudio.exceptions.GoneException;
+import br.com.erudio.exceptions.PreconditionFailedException;
 import br.com.erudio.exceptions.ResourceNotFoundException;
+import br.com.erudio.exceptions.ServiceUnavailableException;
+import br.com.erudio.exceptions.TooManyRequestsException;
 import br.com.erudio.model.Person;
+import br.com.erudio.model.PersonChange;
+import br.com.erudio.serialization.converter.PersonProtobufHttpMessageConverter;
+import br.com.erudio.services.PersonChangeFeed;
 import br.com.erudio.services.PersonServices;
+import br.com.erudio.services.PersonWriteBehind;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,22 +29,44 @@ import org.mockito.BDDMockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest
+@Import(WebConfig.class)
 public class PersonControllerTest {
 
     @Autowired
@@ -39,6 +78,12 @@ public class PersonControllerTest {
     @MockBean
     private PersonServices service;
 
+    @MockBean
+    private PersonWriteBehind writeBehind;
+
+    @MockBean
+    private PersonChangeFeed changeFeed;
+
     private Person person;
 
     @BeforeEach
@@ -72,6 +117,35 @@ public class PersonControllerTest {
                 .andExpect(jsonPath("$.email", is(person.getEmail())))
         ;
     }
+    @Test
+    @DisplayName("Given Persons Array When Create Batch Then Return Created Count")
+    void testGivenPersonsArray_WhenCreateBatch_ThenReturnCreatedCount() throws Exception {
+        // Given / Arrange
+        List<Person> received = new ArrayList<>();
+        given(service.createAll(any())).willAnswer(invocation -> {
+            Iterator<Person> people = invocation.getArgument(0);
+            people.forEachRemaining(received::add);
+            return received.size();
+        });
+        Person maria = new Person(
+                "Maria",
+                "Costa",
+                "maria@erudio.com.br",
+                "Minas Gerais",
+                "Female");
+
+        // When / Act
+        ResultActions response = mockMvc.perform(post("/person/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(List.of(person, maria))));
+
+        // Then / Assert
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(2)));
+        assertEquals(List.of(person, maria), received);
+    }
+
     @Test
     @DisplayName("Given List Of Persons When FindAl Persons Then Return Persons List")
     void testGivenListOfPersons_WhenFindAllPersons_ThenReturnPersonsList() throws Exception {
@@ -85,7 +159,9 @@ public class PersonControllerTest {
                 "Minas Gerais",
                 "Female"));
 
-        given(service.findAll()).willReturn(persons);
+        given(service.findAll(null, PersonServices.DEFAULT_PAGE_SIZE))
+                .willReturn(new SliceImpl<>(persons.stream().map(PersonDTO::of).toList(),
+                        PageRequest.ofSize(PersonServices.DEFAULT_PAGE_SIZE), false));
 
         // When / Act
         ResultActions response = mockMvc.perform(get("/person"));
@@ -95,9 +171,192 @@ public class PersonControllerTest {
                 .andExpect(status().isOk())
                 .andDo(print())
                 .andExpect(jsonPath("$.size()", is(persons.size())))
+                .andExpect(header().doesNotExist(PersonController.NEXT_CURSOR_HEADER))
         ;
     }
 
+    @Test
+    @DisplayName("Given Next Cursor When FindAll Persons Then Return Next Page And Cursor")
+    void testGivenNextCursor_WhenFindAllPersons_ThenReturnNextPageAndCursor() throws Exception {
+        // Given / Arrange
+        person.setId(11L);
+        String cursor = PageCursor.encode(10L);
+        given(service.findAll(10L, 1))
+                .willReturn(new SliceImpl<>(List.of(PersonDTO.of(person)), PageRequest.ofSize(1), true));
+
+        // When / Act
+        ResultActions response = mockMvc.perform(get("/person")
+                .param("cursor", cursor)
+                .param("size", "1"));
+
+        // Then / Assert
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].id", is(11)))
+                .andExpect(header().string(PersonController.NEXT_CURSOR_HEADER, PageCursor.encode(11L)))
+        ;
+    }
+
+    @Test
+    @DisplayName("Given Ids When FindByIds Then Return People In Request Order And Missing Ids")
+    void testGivenIds_WhenFindByIds_ThenReturnPeopleInRequestOrderAndMissingIds() throws Exception {
+        // Given / Arrange
+        person.setId(3L);
+        Person maria = new Person(1L, "Maria", "Costa", "maria@erudio.com.br", "Minas Gerais", "Female");
+        given(service.findByIds(List.of(3L, 2L, 1L)))
+                .willReturn(new PersonLookup(List.of(person, maria), List.of(2L)));
+
+        // When / Act
+        ResultActions response = mockMvc.perform(get("/person").param("ids", "3,2,1"));
+
+        // Then / Assert
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(2)))
+                .andExpect(jsonPath("$[0].id", is(3)))
+                .andExpect(jsonPath("$[1].id", is(1)))
+                .andExpect(header().string(PersonController.MISSING_IDS_HEADER, "2"))
+        ;
+    }
+
+    @Test
+    @DisplayName("Given Cursor When Read Changes Then Return Changes After It With Person State")
+    void testGivenCursor_WhenReadChanges_ThenReturnChangesAfterItWithPersonState() throws Exception {
+        // Given / Arrange
+        given(changeFeed.changes(41L, 2)).willReturn(List.of(
+                new PersonChangeDTO(42L, PersonChange.Type.UPDATE, 7L, 3L, Instant.parse("2024-05-01T10:15:30Z"),
+                        "{\"id\":7,\"firstName\":\"Leandro\"}"),
+                new PersonChangeDTO(43L, PersonChange.Type.DELETE, 7L, null, Instant.parse("2024-05-01T10:16:00Z"),
+                        null)));
+
+        // When / Act
+        ResultActions response = mockMvc.perform(get("/person/changes")
+                .param("since", "41")
+                .param("size", "2"));
+
+        // Then / Assert
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].position", is(42)))
+                .andExpect(jsonPath("$[0].type", is("UPDATE")))
+                .andExpect(jsonPath("$[0].person.firstName", is("Leandro")))
+                .andExpect(jsonPath("$[1].type", is("DELETE")))
+                .andExpect(jsonPath("$[1].person").doesNotExist())
+        ;
+    }
+
+    @Test
+    @DisplayName("Given Expired Cursor When Read Changes Then Return Gone")
+    void testGivenExpiredCursor_WhenReadChanges_ThenReturnGone() throws Exception {
+        // Given / Arrange
+        given(changeFeed.changes(1L, PersonServices.DEFAULT_PAGE_SIZE))
+                .willThrow(new GoneException("Changes after position 1 have expired, resync from GET /person!"));
+
+        // When / Act
+        ResultActions response = mockMvc.perform(get("/person/changes").param("since", "1"));
+
+        // Then / Assert
+        response.andDo(print())
+                .andExpect(status().isGone())
+                .andExpect(jsonPath("$.status", is(410)))
+        ;
+    }
+
+    @Test
+    @DisplayName("Given Search Query When Search Persons Then Return Ranked Page And Total")
+    void testGivenSearchQuery_WhenSearchPersons_ThenReturnRankedPageAndTotal() throws Exception {
+        // Given / Arrange
+        person.setId(1L);
+        given(service.search("cost", 1, 1))
+                .willReturn(new PageImpl<>(List.of(PersonDTO.of(person)), PageRequest.of(1, 1), 3));
+
+        // When / Act
+        ResultActions response = mockMvc.perform(get("/person/search")
+                .param("q", "cost")
+                .param("page", "1")
+                .param("size", "1"));
+
+        // Then / Assert
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()", is(1)))
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(header().string(PersonController.TOTAL_COUNT_HEADER, "3"))
+        ;
+    }
+
+    @Test
+    @DisplayName("Given Fields When FindAll Persons Then Return Only Requested Fields")
+    void testGivenFields_WhenFindAllPersons_ThenReturnOnlyRequestedFields() throws Exception {
+        // Given / Arrange
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", 11L);
+        row.put("email", person.getEmail());
+        given(service.findAll(null, 1, List.of("email")))
+                .willReturn(new SliceImpl<>(List.of(row), PageRequest.ofSize(1), true));
+
+        // When / Act
+        ResultActions response = mockMvc.perform(get("/person")
+                .param("size", "1")
+                .param("fields", "email"));
+
+        // Then / Assert
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(11)))
+                .andExpect(jsonPath("$[0].email", is(person.getEmail())))
+                .andExpect(jsonPath("$[0].firstName").doesNotExist())
+                .andExpect(header().string(PersonController.NEXT_CURSOR_HEADER, PageCursor.encode(11L)))
+        ;
+    }
+
+    @Test
+    @DisplayName("Given Invalid Cursor When FindAll Persons Then Return Bad Request")
+    void testGivenInvalidCursor_WhenFindAllPersons_ThenReturnBadRequest() throws Exception {
+        // When / Act
+        ResultActions response = mockMvc.perform(get("/person").param("cursor", "not-a-cursor"));
+
+        // Then / Assert
+        response.andDo(print())
+                .andExpect(status().isBadRequest())
+        ;
+    }
+
+    @Test
+    @DisplayName("Given Persons When Export Then Stream One Json Line Per Person")
+    void testGivenPersons_WhenExport_ThenStreamOneJsonLinePerPerson() throws Exception {
+        // Given / Arrange
+        Person maria = new Person(
+                "Maria",
+                "Costa",
+                "maria@erudio.com.br",
+                "Minas Gerais",
+                "Female");
+        willAnswer(invocation -> {
+            Consumer<PersonDTO> consumer = invocation.getArgument(0);
+            consumer.accept(PersonDTO.of(person));
+            consumer.accept(PersonDTO.of(maria));
+            return null;
+        }).given(service).export(any());
+
+        // When / Act
+        MvcResult result = mockMvc.perform(get("/person/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        ResultActions response = mockMvc.perform(asyncDispatch(result));
+
+        // Then / Assert
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON));
+
+        String[] lines = result.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(person, mapper.readValue(lines[0], Person.class));
+        assertEquals(maria, mapper.readValue(lines[1], Person.class));
+    }
+
     @Test
     @DisplayName("Given Person Object When Create Person Then Return Saved Person")
     void testGivenPersonId_WhenFindById_ThenReturnPersonObject() throws Exception {
@@ -116,6 +375,229 @@ public class PersonControllerTest {
                 .andExpect(jsonPath("$.email", is(person.getEmail())))
         ;
     }
+    @Test
+    @DisplayName("Given Versioned Person When FindById Then Return Strong ETag")
+    void testGivenVersionedPerson_WhenFindById_ThenReturnStrongETag() throws Exception {
+        // Given / Arrange
+        person.setVersion(2L);
+        given(service.findById(1L)).willReturn(person);
+
+        // When / Act
+        ResultActions response = mockMvc.perform(get("/person/{id}", 1L));
+
+        // Then / Assert
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2\""))
+                .andExpect(jsonPath("$.version", is(2)))
+        ;
+    }
+
+    @Test
+    @DisplayName("Given Cbor Accept When FindById Then Return Cbor Person")
+    void testGivenCborAccept_WhenFindById_ThenReturnCborPerson() throws Exception {
+        // Given / Arrange
+        person.setVersion(2L);
+        given(service.findById(1L)).willReturn(person);
+
+        // When / Act
+        MvcResult result = mockMvc.perform(get("/person/{id}", 1L).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("Vary", "Accept"))
+                .andReturn();
+
+        // Then / Assert
+        Person decoded = new CBORMapper().readValue(result.getResponse().getContentAsByteArray(), Person.class);
+        assertEquals(person.getEmail(), decoded.getEmail());
+        assertEquals(2L, decoded.getVersion());
+    }
+
+    @Test
+    @DisplayName("Given Protobuf Accept When FindAll Persons Then Return Protobuf Person List")
+    void testGivenProtobufAccept_WhenFindAllPersons_ThenReturnProtobufPersonList() throws Exception {
+        // Given / Arrange
+        List<PersonDTO> people = List.of(
+                new PersonDTO(1L, "Leandro", "Costa", "Uberlândia", "Male", "leandro@erudio.com.br", 0L),
+                new PersonDTO(2L, "Maria", "Costa", "Minas Gerais", "Female", "maria@erudio.com.br", 3L));
+        given(service.findAll(null, PersonServices.DEFAULT_PAGE_SIZE))
+                .willReturn(new SliceImpl<>(people, PageRequest.ofSize(PersonServices.DEFAULT_PAGE_SIZE), false));
+
+        // When / Act
+        MvcResult result = mockMvc.perform(get("/person").accept(PersonProtobufHttpMessageConverter.APPLICATION_PROTOBUF))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(PersonProtobufHttpMessageConverter.APPLICATION_PROTOBUF))
+                .andReturn();
+
+        // Then / Assert
+        List<Person> decoded = PersonProtobufHttpMessageConverter.readPeople(
+                CodedInputStream.newInstance(result.getResponse().getContentAsByteArray()));
+        assertEquals(2, decoded.size());
+        assertEquals("Uberlândia", decoded.get(0).getAddress());
+        assertEquals(3L, decoded.get(1).getVersion());
+    }
+
+    @Test
+    @DisplayName("Given Protobuf Person When Create Person Then Return Saved Person")
+    void testGivenProtobufPerson_WhenCreatePerson_ThenReturnSavedPerson() throws Exception {
+        // Given / Arrange
+        given(service.create(any(Person.class)))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        CodedOutputStream out = CodedOutputStream.newInstance(body);
+        PersonProtobufHttpMessageConverter.writePerson(PersonProtobufHttpMessageConverter.values(person), out);
+        out.flush();
+
+        // When / Act
+        ResultActions response = mockMvc.perform(post("/person")
+                .contentType(PersonProtobufHttpMessageConverter.APPLICATION_PROTOBUF)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(body.toByteArray()));
+
+        // Then / Assert
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName", is(person.getFirstName())))
+                .andExpect(jsonPath("$.address", is(person.getAddress())))
+        ;
+    }
+
+    @Test
+    @DisplayName("Given Respond Async Preference When Create Person Then Return Accepted With Tracking Id")
+    void testGivenRespondAsyncPreference_WhenCreatePerson_ThenReturnAcceptedWithTrackingId() throws Exception {
+        // Given / Arrange
+        given(writeBehind.submit(any(WriteStatus.Operation.class), any(Person.class)))
+                .willReturn(WriteStatus.queued("abc", WriteStatus.Operation.CREATE, null));
+
+        // When / Act
+        ResultActions response = mockMvc.perform(post("/person")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Prefer", "respond-async, wait=5")
+                .content(mapper.writeValueAsString(person)));
+
+        // Then / Assert
+        response.andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost/person/writes/abc"))
+                .andExpect(header().string(PersonController.PREFERENCE_APPLIED_HEADER, "respond-async"))
+                .andExpect(jsonPath("$.trackingId", is("abc")))
+                .andExpect(jsonPath("$.state", is("QUEUED")))
+        ;
+        verify(service, never()).create(any(Person.class));
+    }
+
+    @Test
+    @DisplayName("Given Full Write Queue When Update Person Async Then Return Too Many Requests")
+    void testGivenFullWriteQueue_WhenUpdatePersonAsync_ThenReturnTooManyRequests() throws Exception {
+        // Given / Arrange
+        willThrow(new TooManyRequestsException("Person write queue is full, retry later!", 1))
+                .given(writeBehind).submit(any(WriteStatus.Operation.class), any(Person.class));
+
+        // When / Act
+        ResultActions response = mockMvc.perform(put("/person")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Prefer", "respond-async")
+                .content(mapper.writeValueAsString(person)));
+
+        // Then / Assert
+        response.andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"))
+        ;
+    }
+
+    @Test
+    @DisplayName("Given Write-Behind Shutting Down When Create Person Async Then Return Service Unavailable")
+    void testGivenWriteBehindShuttingDown_WhenCreatePersonAsync_ThenReturnServiceUnavailable() throws Exception {
+        // Given / Arrange
+        willThrow(new ServiceUnavailableException("Person writes are shutting down, retry later!", 1))
+                .given(writeBehind).submit(any(WriteStatus.Operation.class), any(Person.class));
+
+        // When / Act
+        ResultActions response = mockMvc.perform(post("/person")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Prefer", "respond-async")
+                .content(mapper.writeValueAsString(person)));
+
+        // Then / Assert
+        response.andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+        ;
+    }
+
+    @Test
+    @DisplayName("Given Tracking Id When Get Write Status Then Return Status Or Not Found")
+    void testGivenTrackingId_WhenGetWriteStatus_ThenReturnStatusOrNotFound() throws Exception {
+        // Given / Arrange
+        given(writeBehind.status("abc")).willReturn(Optional.of(
+                WriteStatus.queued("abc", WriteStatus.Operation.CREATE, null).written(7L)));
+        given(writeBehind.status("missing")).willReturn(Optional.empty());
+
+        // When / Act / Then / Assert
+        mockMvc.perform(get("/person/writes/{trackingId}", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state", is("WRITTEN")))
+                .andExpect(jsonPath("$.personId", is(7)));
+        mockMvc.perform(get("/person/writes/{trackingId}", "missing"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Given Matching If-None-Match When FindById Then Return Not Modified")
+    void testGivenMatchingIfNoneMatch_WhenFindById_ThenReturnNotModified() throws Exception {
+        // Given / Arrange
+        person.setVersion(2L);
+        given(service.findById(1L)).willReturn(person);
+
+        // When / Act
+        ResultActions response = mockMvc.perform(get("/person/{id}", 1L)
+                .header("If-None-Match", "\"2\""));
+
+        // Then / Assert
+        response.andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""))
+        ;
+    }
+
+    @Test
+    @DisplayName("Given If-Match When Update Then Send Expected Version To Service")
+    void testGivenIfMatch_WhenUpdate_ThenSendExpectedVersionToService() throws Exception {
+        // Given / Arrange
+        person.setId(1L);
+        given(service.update(any(Person.class))).willAnswer(invocation -> {
+            Person received = invocation.getArgument(0);
+            received.setVersion(received.getVersion() + 1);
+            return received;
+        });
+
+        // When / Act
+        ResultActions response = mockMvc.perform(put("/person")
+                .header("If-Match", "\"5\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(person)));
+
+        // Then / Assert
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"6\""))
+        ;
+    }
+
+    @Test
+    @DisplayName("Given Stale If-Match When Delete Then Return Precondition Failed")
+    void testGivenStaleIfMatch_WhenDelete_ThenReturnPreconditionFailed() throws Exception {
+        // Given / Arrange
+        willThrow(PreconditionFailedException.class).given(service).delete(1L, 5L);
+
+        // When / Act
+        ResultActions response = mockMvc.perform(delete("/person/{id}", 1L)
+                .header("If-Match", "\"5\""));
+
+        // Then / Assert
+        response.andDo(print())
+                .andExpect(status().isPreconditionFailed())
+        ;
+        verify(service).delete(1L, 5L);
+    }
+
     @Test
     @DisplayName("Given Invalid PersonId When FindById Then Return Not Found")
     void testGivenInvalidPersonId_WhenFindById_ThenReturnNotFound() throws Exception {
@@ -132,6 +614,70 @@ public class PersonControllerTest {
         ;
     }
 
+    @Test
+    @DisplayName("Given Invalid PersonId When FindById Then Return Problem Detail")
+    void testGivenInvalidPersonId_WhenFindById_ThenReturnProblemDetail() throws Exception {
+        // Given / Arrange
+        long personId = 1L;
+        given(service.findById(personId))
+                .willThrow(new ResourceNotFoundException("No records found for this ID!"));
+
+        // When / Act
+        ResultActions response = mockMvc.perform(get("/person/{id}", personId));
+
+        // Then / Assert
+        response.andDo(print())
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.status", is(404)))
+                .andExpect(jsonPath("$.title", is("Not Found")))
+                .andExpect(jsonPath("$.detail", is("No records found for this ID!")))
+                .andExpect(jsonPath("$.instance", is("/person/1")))
+        ;
+    }
+
+    @Test
+    @DisplayName("Given Existing Email When Create Person Then Return Conflict")
+    void testGivenExistingEmail_WhenCreatePerson_ThenReturnConflict() throws Exception {
+        // Given / Arrange
+        given(service.create(any(Person.class))).willThrow(new DuplicateEmailException(
+                "Person already exists with given e-mail: " + person.getEmail()));
+
+        // When / Act
+        ResultActions response = mockMvc.perform(post("/person")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(person)));
+
+        // Then / Assert
+        response.andDo(print())
+                .andExpect(status().isConflict())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.status", is(409)))
+                .andExpect(jsonPath("$.detail", is("Person already exists with given e-mail: " + person.getEmail())))
+        ;
+    }
+
+    @Test
+    @DisplayName("Given Unexpected Failure When Update Person Then Return Internal Server Error Without Its Message")
+    void testGivenUnexpectedFailure_WhenUpdatePerson_ThenReturnInternalServerErrorWithoutItsMessage() throws Exception {
+        // Given / Arrange
+        given(service.update(any(Person.class))).willThrow(new IllegalStateException(
+                "could not execute statement [insert into person ...] [uk_person_email]"));
+
+        // When / Act
+        ResultActions response = mockMvc.perform(put("/person")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(person)));
+
+        // Then / Assert
+        response.andDo(print())
+                .andExpect(status().isInternalServerError())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.status", is(500)))
+                .andExpect(jsonPath("$.detail", is("An unexpected error occurred!")))
+        ;
+    }
+
     @Test
     @DisplayName("Given Updated Person When Update Then Return Updated Person Object")
     void testGivenUpdatedPerson_WhenUpdate_ThenReturnUpdatedPersonObject() throws Exception {
@@ -162,12 +708,12 @@ public class PersonControllerTest {
     }
     @Test
     @DisplayName("Given Nonexistent Person When Update Then Return NotFound")
-    void testGivenNonexistentPerson_WhenUpdate_ThenReturnNotFound() throws Exception { //FIXME Esse teste está errado!!
+    void testGivenNonexistentPerson_WhenUpdate_ThenReturnNotFound() throws Exception {
         // Given / Arrange
         long personId = 1L;
 //        given(service.findById(personId)).willThrow(ResourceNotFoundException.class);
         given(service.update(any(Person.class)))
-                .willAnswer(invocation -> invocation.getArgument(1));
+                .willThrow(new ResourceNotFoundException("No records found for this ID!"));
 
         // When / Act
         Person updatedPerson = new Person(
@@ -193,7 +739,7 @@ public class PersonControllerTest {
         long personId = 1L;
 //        given(service.findById(personId)).willThrow(ResourceNotFoundException.class);
         given(service.update(any(Person.class)))
-                .willAnswer(invocation -> invocation.getArgument(1));
+                .willThrow(new ResourceNotFoundException("No records found for this ID!"));
 
         // When / Act
         Person updatedPerson = new Person(
@@ -0,0 +1,105 @@
+package br.com.erudio.controllers;
+
+import br.com.erudio.exceptions.ResourceNotFoundException;
+import br.com.erudio.model.Person;
+import br.com.erudio.services.ReactivePersonServices;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.BDDMockito.given;
+
+@WebFluxTest(ReactivePersonController.class)
+@ActiveProfiles("reactive")
+class ReactivePersonControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactivePersonServices service;
+
+    private Person person;
+
+    @BeforeEach
+    void setup() {
+        // Given / Arrange
+        person = new Person(
+                1L,
+                "Leandro",
+                "Costa",
+                "leandro@erudio.com.br",
+                "Uberlândia - Minas Gerais - Brasil",
+                "Male");
+    }
+
+    @Test
+    @DisplayName("Given Persons When FindAll As NDJSON Then Stream Persons")
+    void testGivenPersons_WhenFindAllAsNdjson_ThenStreamPersons() {
+        // Given / Arrange
+        Person maria = new Person(
+                2L,
+                "Maria",
+                "Costa",
+                "maria@erudio.com.br",
+                "Minas Gerais",
+                "Female");
+        given(service.findAll()).willReturn(Flux.just(person, maria));
+
+        // When / Act / Then / Assert
+        webTestClient.get().uri("/person")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Person.class)
+                .hasSize(2)
+                .contains(person, maria);
+    }
+
+    @Test
+    @DisplayName("Given Person Id When FindById Then Return Person Object")
+    void testGivenPersonId_WhenFindById_ThenReturnPersonObject() {
+        // Given / Arrange
+        given(service.findById(1L)).willReturn(Mono.just(person));
+
+        // When / Act / Then / Assert
+        webTestClient.get().uri("/person/{id}", 1L)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.firstName").isEqualTo("Leandro")
+                .jsonPath("$.email").isEqualTo("leandro@erudio.com.br");
+    }
+
+    @Test
+    @DisplayName("Given Invalid PersonId When FindById Then Return Not Found")
+    void testGivenInvalidPersonId_WhenFindById_ThenReturnNotFound() {
+        // Given / Arrange
+        given(service.findById(1L)).willReturn(Mono.error(new ResourceNotFoundException("No records found for this ID!")));
+
+        // When / Act / Then / Assert
+        webTestClient.get().uri("/person/{id}", 1L)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("Given PersonId When Delete Then Return NoContent")
+    void testGivenPersonId_WhenDelete_ThenReturnNoContent() {
+        // Given / Arrange
+        given(service.delete(1L)).willReturn(Mono.empty());
+
+        // When / Act / Then / Assert
+        webTestClient.delete().uri("/person/{id}", 1L)
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+}
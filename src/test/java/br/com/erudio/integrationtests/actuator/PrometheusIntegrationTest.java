@@ -0,0 +1,45 @@
+package br.com.erudio.integrationtests.actuator;
+
+import br.com.erudio.config.TestConfigs;
+import br.com.erudio.integrationtests.testcontainers.AbstractIntegrationTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.DEFINED_PORT)
+class PrometheusIntegrationTest extends AbstractIntegrationTest {
+
+    @Test
+    @DisplayName("JUnit test for Should Expose Person Meters On Prometheus Endpoint")
+    void testsShouldExposePersonMetersOnPrometheusEndpoint() {
+        given()
+                .basePath("/person")
+                .port(TestConfigs.SERVER_PORT)
+                .when()
+                .get()
+                .then()
+                .statusCode(200);
+
+        String content = given()
+                .basePath("/actuator/prometheus")
+                .port(TestConfigs.SERVER_PORT)
+                .when()
+                .get()
+                .then()
+                .statusCode(200)
+                .extract()
+                .body()
+                .asString();
+
+        assertTrue(content.contains("http_server_requests_seconds_bucket{"));
+        assertTrue(content.contains("http_server_requests_seconds{") && content.contains("quantile=\"0.99\""));
+        assertTrue(content.contains("person_service_seconds_bucket{"));
+        assertTrue(content.contains("spring_data_repository_invocations_seconds_bucket{"));
+        assertTrue(content.contains("hikaricp_connections_active"));
+        assertTrue(content.contains("hibernate_statements_total"));
+        assertTrue(content.contains("cache_gets_total{"));
+    }
+}
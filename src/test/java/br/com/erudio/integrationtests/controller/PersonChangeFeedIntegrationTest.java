@@ -0,0 +1,195 @@
+package br.com.erudio.integrationtests.controller;
+
+import br.com.erudio.config.TestConfigs;
+import br.com.erudio.integrationtests.testcontainers.AbstractIntegrationTest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.DEFINED_PORT)
+class PersonChangeFeedIntegrationTest extends AbstractIntegrationTest {
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    private static HttpClient client;
+    private static ObjectMapper objectMapper;
+
+    @BeforeAll
+    public static void setup() {
+        // Given / Arrange
+        client = HttpClient.newHttpClient();
+        objectMapper = new ObjectMapper();
+    }
+
+    @Test
+    @DisplayName("JUnit integration given Create Update And Delete when Read Changes Since Cursor should Return Them In Order")
+    void integrationTestGivenCreateUpdateAndDelete_when_ReadChangesSinceCursor_ShouldReturnThemInOrder() throws Exception {
+        // Given / Arrange
+        long since = head();
+        ObjectNode person = person("feed@erudio.com.br");
+        JsonNode created = objectMapper.readTree(send("POST", person).body());
+        long id = created.get("id").asLong();
+        assertEquals(409, send("POST", person).statusCode());
+        ObjectNode changed = person.put("id", id).put("firstName", "Leonardo");
+        assertEquals(200, send("PUT", changed).statusCode());
+        assertEquals(204, client.send(request("/person/" + id).DELETE().build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode());
+
+        // When / Act
+        List<JsonNode> changes = awaitChanges(since, id, 3);
+
+        // Then / Assert
+        assertEquals(List.of("CREATE", "UPDATE", "DELETE"), changes.stream().map(c -> c.get("type").asText()).toList());
+        assertEquals("Leandro", changes.get(0).get("person").get("firstName").asText());
+        assertEquals("Leonardo", changes.get(1).get("person").get("firstName").asText());
+        // The PUT carries no version, so the feed must have the one the update stored
+        long createdVersion = created.get("version").asLong();
+        assertEquals(createdVersion, changes.get(0).get("version").asLong());
+        assertEquals(createdVersion + 1, changes.get(1).get("version").asLong());
+        assertEquals(createdVersion + 1, changes.get(1).get("person").get("version").asLong());
+        assertTrue(changes.get(2).get("person").isNull());
+        assertTrue(changes.get(0).get("position").asLong() < changes.get(1).get("position").asLong());
+        assertTrue(changes.get(1).get("position").asLong() < changes.get(2).get("position").asLong());
+    }
+
+    @Test
+    @DisplayName("JUnit integration given Open Stream when Create Person should Push Change Event With Position Id")
+    void integrationTestGivenOpenStream_when_CreatePerson_ShouldPushChangeEventWithPositionId() throws Exception {
+        // Given / Arrange
+        HttpResponse<Stream<String>> stream = client.send(request("/person/changes/stream")
+                .header("Accept", "text/event-stream").GET().build(), HttpResponse.BodyHandlers.ofLines());
+        assertEquals(200, stream.statusCode());
+
+        try (Stream<String> lines = stream.body()) {
+            Iterator<String> events = lines.iterator();
+
+            // When / Act
+            JsonNode created = objectMapper.readTree(send("POST", person("stream@erudio.com.br")).body());
+
+            // Then / Assert
+            CompletableFuture<List<String>> event = CompletableFuture.supplyAsync(() -> {
+                List<String> fields = new ArrayList<>();
+                while (events.hasNext()) {
+                    String line = events.next();
+                    if (line.isEmpty()) {
+                        if (fields.stream().anyMatch(field -> field.contains("stream@erudio.com.br"))) return fields;
+                        fields.clear();
+                    } else {
+                        fields.add(line);
+                    }
+                }
+                return fields;
+            });
+            List<String> fields = event.get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            String data = fields.stream().filter(field -> field.startsWith("data:")).findFirst().orElseThrow();
+            JsonNode change = objectMapper.readTree(data.substring("data:".length()));
+            assertEquals("CREATE", change.get("type").asText());
+            assertEquals(created.get("id").asLong(), change.get("personId").asLong());
+            assertTrue(fields.contains("id:" + change.get("position").asLong()));
+        }
+    }
+
+    @Test
+    @DisplayName("JUnit integration given Created Person when Search should Find It Once The Feed Delivers It")
+    void integrationTestGivenCreatedPerson_when_Search_ShouldFindItOnceTheFeedDeliversIt() throws Exception {
+        // Given / Arrange
+        long id = objectMapper.readTree(send("POST", person("indexed@erudio.com.br")).body()).get("id").asLong();
+
+        // When / Act
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        JsonNode found = objectMapper.createArrayNode();
+        while (found.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+            HttpResponse<String> response = client.send(request("/person/search?q=indexed")
+                    .header("Accept", TestConfigs.CONTENT_TYPE_JSON).GET().build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, response.statusCode());
+            found = objectMapper.readTree(response.body());
+        }
+
+        // Then / Assert
+        assertEquals(1, found.size());
+        assertEquals(id, found.get(0).get("id").asLong());
+    }
+
+    @Test
+    @DisplayName("JUnit integration given Negative Cursor when Read Changes should Return Bad Request")
+    void integrationTestGivenNegativeCursor_when_ReadChanges_ShouldReturnBadRequest() throws Exception {
+        // When / Act
+        HttpResponse<String> response = client.send(request("/person/changes?since=-1").GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        // Then / Assert
+        assertEquals(400, response.statusCode());
+    }
+
+    // The position of the newest change in the feed so far
+    private long head() throws IOException, InterruptedException {
+        long since = 0;
+        while (true) {
+            JsonNode page = changesSince(since);
+            if (page.isEmpty()) return since;
+            since = page.get(page.size() - 1).get("position").asLong();
+        }
+    }
+
+    private List<JsonNode> awaitChanges(long since, long personId, int expected) throws Exception {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        List<JsonNode> changes = new ArrayList<>();
+        while (System.currentTimeMillis() < deadline) {
+            for (JsonNode change : changesSince(since)) {
+                since = change.get("position").asLong();
+                if (change.get("personId").asLong() == personId) changes.add(change);
+            }
+            if (changes.size() >= expected) return changes;
+            Thread.sleep(100);
+        }
+        fail("Expected " + expected + " changes for person " + personId + " but got " + changes.size());
+        return changes;
+    }
+
+    private JsonNode changesSince(long since) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request("/person/changes?size=500&since=" + since).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+        return objectMapper.readTree(response.body());
+    }
+
+    private HttpResponse<String> send(String method, JsonNode body) throws IOException, InterruptedException {
+        return client.send(request("/person")
+                .header("Content-Type", TestConfigs.CONTENT_TYPE_JSON)
+                .header("Accept", TestConfigs.CONTENT_TYPE_JSON)
+                .method(method, HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + TestConfigs.SERVER_PORT + path));
+    }
+
+    private ObjectNode person(String email) {
+        return objectMapper.createObjectNode()
+                .put("firstName", "Leandro")
+                .put("lastName", "Costa")
+                .put("email", email)
+                .put("address", "Minas Gerais")
+                .put("gender", "Male");
+    }
+}
@@ -0,0 +1,113 @@
+package br.com.erudio.integrationtests.controller;
+
+import br.com.erudio.config.TestConfigs;
+import br.com.erudio.integrationtests.testcontainers.AbstractIntegrationTest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.DEFINED_PORT)
+class PersonControllerCompressionIntegrationTest extends AbstractIntegrationTest {
+
+    private static final int PEOPLE = 60;
+
+    // java.net.http never decompresses on its own, so the raw encoded body is what the server sent
+    private static HttpClient client;
+    private static ObjectMapper objectMapper;
+
+    @BeforeAll
+    public static void setup() {
+        // Given / Arrange
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+        objectMapper = new ObjectMapper();
+    }
+
+    @Test
+    @DisplayName("JUnit integration given Large Person List when Accept Gzip should Return Compressed Same Data Over Http2")
+    void integrationTestGivenLargePersonList_when_AcceptGzip_ShouldReturnCompressedSameDataOverHttp2() throws Exception {
+        // Given / Arrange
+        createPeople("gzip");
+
+        // When / Act
+        HttpResponse<byte[]> plain = get("/person?size=" + PEOPLE, "identity");
+        HttpResponse<byte[]> compressed = get("/person?size=" + PEOPLE, "gzip");
+
+        // Then / Assert
+        assertEquals(200, compressed.statusCode());
+        assertEquals(HttpClient.Version.HTTP_2, compressed.version());
+        assertTrue(plain.headers().firstValue("Content-Encoding").isEmpty());
+        assertEquals("gzip", compressed.headers().firstValue("Content-Encoding").orElse(null));
+        assertTrue(compressed.body().length < plain.body().length);
+
+        JsonNode expected = objectMapper.readTree(plain.body());
+        JsonNode actual = objectMapper.readTree(gunzip(compressed.body()));
+        assertEquals(PEOPLE, expected.size());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @DisplayName("JUnit integration given Person Export when Accept Gzip should Stream Compressed Same Lines")
+    void integrationTestGivenPersonExport_when_AcceptGzip_ShouldStreamCompressedSameLines() throws Exception {
+        // Given / Arrange
+        createPeople("export");
+
+        // When / Act
+        HttpResponse<byte[]> plain = get("/person/export", "identity");
+        HttpResponse<byte[]> compressed = get("/person/export", "gzip");
+
+        // Then / Assert
+        assertEquals("gzip", compressed.headers().firstValue("Content-Encoding").orElse(null));
+        assertEquals(new String(plain.body(), StandardCharsets.UTF_8),
+                new String(gunzip(compressed.body()), StandardCharsets.UTF_8));
+    }
+
+    private static void createPeople(String prefix) throws IOException, InterruptedException {
+        // Tomcat refuses an h2c upgrade that carries a large body, so the connection is upgraded on a GET
+        get("/person?size=1", "identity");
+        StringBuilder batch = new StringBuilder("[");
+        for (int i = 0; i < PEOPLE; i++) {
+            if (i > 0) batch.append(',');
+            batch.append("{\"firstName\":\"Leandro\",\"lastName\":\"Costa\",\"address\":\"Uberlândia - Minas Gerais - Brasil\",")
+                    .append("\"gender\":\"Male\",\"email\":\"").append(prefix).append(i).append("@erudio.com.br\"}");
+        }
+        batch.append(']');
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri("/person/batch"))
+                .header("Content-Type", TestConfigs.CONTENT_TYPE_JSON)
+                .POST(HttpRequest.BodyPublishers.ofString(batch.toString()))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+    }
+
+    private static HttpResponse<byte[]> get(String path, String acceptEncoding) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(uri(path))
+                .header("Accept", TestConfigs.CONTENT_TYPE_JSON + ", application/x-ndjson")
+                .header("Accept-Encoding", acceptEncoding)
+                .GET()
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static URI uri(String path) {
+        return URI.create("http://localhost:" + TestConfigs.SERVER_PORT + path);
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -17,8 +17,10 @@ import org.springframework.boot.test.context.SpringBootTest;
 import java.util.List;
 
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.*;
 
+@Order(1)
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.DEFINED_PORT)
 class PersonControllerIntegrationTest  extends AbstractIntegrationTest {
@@ -220,9 +222,26 @@ class PersonControllerIntegrationTest  extends AbstractIntegrationTest {
     }
 
 
-    @DisplayName("JUnit integration given Person Object when Delete should Return no content")
+    @DisplayName("JUnit integration given another Person's e-mail when Update should Return Conflict")
     @Test
     @Order(5)
+    void integrationTestGivenAnotherPersonsEmail_when_Update_ShouldReturnConflict() {
+        Person sameEmail = new Person(person.getId(), person.getFirstName(), person.getLastName(),
+                "gabi@erudio.com.br", person.getAddress(), person.getGender());
+
+        given().spec(specification)
+                .contentType(TestConfigs.CONTENT_TYPE_JSON)
+                .body(sameEmail)
+                .when()
+                .put()
+                .then()
+                .statusCode(409)
+                .body("detail", is("Person already exists with given e-mail: gabi@erudio.com.br"));
+    }
+
+    @DisplayName("JUnit integration given Person Object when Delete should Return no content")
+    @Test
+    @Order(6)
     void integrationTestGivenPersonObject_when_delete_ShouldReturnNoContent() throws JsonProcessingException {
 
         given().spec(specification)
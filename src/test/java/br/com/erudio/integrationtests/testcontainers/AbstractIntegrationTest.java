@@ -1,5 +1,6 @@
 package br.com.erudio.integrationtests.testcontainers;
 
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.context.ApplicationContextInitializer;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.core.env.ConfigurableEnvironment;
@@ -9,12 +10,24 @@ import org.testcontainers.containers.MySQLContainer;
 import org.testcontainers.lifecycle.Startables;
 
 import java.util.Map;
+import java.util.UUID;
 import java.util.stream.Stream;
 
+/**
+ * Runs the integration suites against an in-memory H2 database in MySQL mode, migrated by the
+ * same Flyway scripts, so they need neither Docker nor a network. {@code -Dtestcontainers=true}
+ * runs them against a MySQL 8.3 container instead.
+ * <p>
+ * Each application context gets its own database. The web suites all declare the same
+ * configuration (observability included), so they share one cached context and its port.
+ */
 @ContextConfiguration(initializers = AbstractIntegrationTest.Initializer.class)
+@AutoConfigureObservability
 public class AbstractIntegrationTest {
 
-    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.3");
+    static final boolean TESTCONTAINERS = Boolean.getBoolean("testcontainers");
+
+    static MySQLContainer<?> mysql = TESTCONTAINERS ? new MySQLContainer<>("mysql:8.3") : null;
 
     private static void startContainers() {
         Startables.deepStart(Stream.of(mysql)).join();
@@ -27,15 +40,31 @@ public class AbstractIntegrationTest {
                 "spring.datasource.password", mysql.getPassword());
     }
 
+    // The dialect stays MySQL8Dialect from application.yml, so Hibernate writes the same SQL as in production
+    private static Map<String, String> createInMemoryConfiguration(){
+        return Map.of(
+                "spring.datasource.url", "jdbc:h2:mem:" + UUID.randomUUID()
+                        + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "spring.datasource.driver-class-name", "org.h2.Driver",
+                "spring.datasource.username", "sa",
+                "spring.datasource.password", "");
+    }
+
     static class Initializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
 
         @Override
         @SuppressWarnings({"unchecked", "rawtypes"})
         public void initialize(ConfigurableApplicationContext applicationContext) {
-            startContainers();
+            Map<String, String> configuration;
+            if (TESTCONTAINERS) {
+                startContainers();
+                configuration = createConnectionConfiguration();
+            } else {
+                configuration = createInMemoryConfiguration();
+            }
             ConfigurableEnvironment environment = applicationContext.getEnvironment();
             MapPropertySource testcontainers =
-                    new MapPropertySource("testcontainers", (Map)createConnectionConfiguration());
+                    new MapPropertySource("testcontainers", (Map)configuration);
 
             environment.getPropertySources().addFirst(testcontainers);
         }
@@ -0,0 +1,121 @@
+package br.com.erudio.loadtest;
+
+import br.com.erudio.config.TestConfigs;
+import br.com.erudio.integrationtests.testcontainers.AbstractIntegrationTest;
+import br.com.erudio.model.Person;
+import br.com.erudio.repositories.PersonRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Throughput / p99 load test for GET /person/{id}. Disabled by default, run it once per mode and compare:
+ * <pre>
+ * mvn test -Dtest=PersonLoadTest -Dloadtest=true -Dtestcontainers=true
+ * mvn test -Pjava21 -Dtest=PersonLoadTest -Dloadtest=true -Dtestcontainers=true -Dspring.profiles.active=virtual-threads
+ * </pre>
+ * Every request has to reach MySQL (and wait for a Hikari connection) for the thread modes to differ,
+ * so the person cache is off and the ids are drawn at random from a seeded set. Without
+ * -Dtestcontainers=true the reads go to in-memory H2, which never blocks on I/O.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.DEFINED_PORT, properties = "spring.cache.type=none")
+class PersonLoadTest extends AbstractIntegrationTest {
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 400);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("loadtest.requests", 50);
+    private static final int PEOPLE = Integer.getInteger("loadtest.people", 10_000);
+    private static final int SEED_CHUNK_SIZE = 500;
+
+    private final Logger logger = Logger.getLogger(PersonLoadTest.class.getName());
+
+    @Autowired
+    private PersonRepository repository;
+
+    @Autowired
+    private Environment environment;
+
+    @Test
+    @DisplayName("Load test for FindById Should Report Throughput And P99")
+    void loadTestFindById_ShouldReportThroughputAndP99() throws Exception {
+        List<Long> ids = seed();
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger errors = new AtomicInteger();
+
+        long start = System.nanoTime();
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                futures.add(clients.submit(() -> {
+                    for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                        Long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+                        URI uri = URI.create("http://localhost:" + TestConfigs.SERVER_PORT + "/person/" + id);
+                        long begin = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(
+                                    HttpRequest.newBuilder(uri).GET().build(),
+                                    HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) errors.incrementAndGet();
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies.add(System.nanoTime() - begin);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) future.get();
+        } finally {
+            clients.shutdown();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        logger.info(String.format("mode=%s requests=%d errors=%d throughput=%.1f req/s p50=%.2f ms p99=%.2f ms",
+                Arrays.toString(environment.getActiveProfiles()), sorted.length, errors.get(),
+                sorted.length / seconds, percentile(sorted, 0.50), percentile(sorted, 0.99)));
+
+        assertTrue(sorted.length > 0);
+    }
+
+    private List<Long> seed() {
+        List<Long> ids = new ArrayList<>(PEOPLE);
+        List<Person> chunk = new ArrayList<>(SEED_CHUNK_SIZE);
+        for (int i = 0; i < PEOPLE; i++) {
+            chunk.add(new Person("First" + i, "Last" + i, "load" + i + "@erudio.com.br", "Minas Gerais", "Male"));
+            if (chunk.size() == SEED_CHUNK_SIZE || i == PEOPLE - 1) {
+                repository.saveAll(chunk).forEach(person -> ids.add(person.getId()));
+                chunk.clear();
+            }
+        }
+        return ids;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+}
@@ -0,0 +1,169 @@
+package br.com.erudio.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final AtomicLong now = new AtomicLong();
+    private final Random random = new Random(42);
+
+    @Test
+    @DisplayName("Given Limit Reached When Acquire then Reject Until A Slot Is Released")
+    void testGivenLimitReached_WhenAcquire_thenRejectUntilASlotIsReleased() {
+        // Given / Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 2, 2.0, now::get);
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+
+        // When / Act
+        boolean third = limiter.tryAcquire();
+        limiter.release(FAST);
+
+        // Then / Assert
+        assertFalse(third);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Given Latencies Spread Between 0.5 And 3 ms When Saturated then Keep The Limit")
+    void testGivenLatenciesSpreadBetweenHalfAnd3Ms_WhenSaturated_thenKeepTheLimit() {
+        // Given / Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(64, 1, 64, 2.0, now::get);
+
+        // When / Act
+        int lowest = saturate(limiter, 200, () -> uniform(0.5, 3));
+
+        // Then / Assert
+        assertEquals(64, lowest);
+        assertEquals(64, limiter.limit());
+    }
+
+    @Test
+    @DisplayName("Given Latencies Spread Between 0.5 And 3 ms When Starting Low then Grow To The Maximum")
+    void testGivenLatenciesSpreadBetweenHalfAnd3Ms_WhenStartingLow_thenGrowToTheMaximum() {
+        // Given / Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 64, 2.0, now::get);
+
+        // When / Act
+        saturate(limiter, 100, () -> uniform(0.5, 3));
+
+        // Then / Assert
+        assertEquals(64, limiter.limit());
+    }
+
+    @Test
+    @DisplayName("Given Occasional Outliers When Saturated then Never Cut More Than Once Per Window")
+    void testGivenOccasionalOutliers_WhenSaturated_thenNeverCutMoreThanOncePerWindow() {
+        // Given / Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(64, 1, 64, 2.0, now::get);
+        saturate(limiter, 20, () -> uniform(0.5, 3));
+
+        // When / Act
+        int lowest = saturate(limiter, 200, () -> random.nextInt(100) == 0 ? uniform(20, 40) : uniform(0.5, 3));
+
+        // Then / Assert
+        assertTrue(lowest >= 32, "limit fell to " + lowest);
+        assertEquals(64, limiter.limit());
+    }
+
+    @Test
+    @DisplayName("Given Queueing Within One Window When Release then Cut The Limit Once")
+    void testGivenQueueingWithinOneWindow_WhenRelease_thenCutTheLimitOnce() {
+        // Given / Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 4, 20, 2.0, now::get);
+        saturate(limiter, 5, () -> FAST);
+
+        // When / Act
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.release(SLOW);
+        }
+        now.addAndGet(AdaptiveConcurrencyLimiter.SAMPLE_WINDOW);
+        limiter.tryAcquire();
+        limiter.release(SLOW);
+
+        // Then / Assert
+        assertEquals(10, limiter.limit());
+    }
+
+    @Test
+    @DisplayName("Given Latency Rising When Windows Close then Cut The Limit Down To The Minimum")
+    void testGivenLatencyRising_WhenWindowsClose_thenCutTheLimitDownToTheMinimum() {
+        // Given / Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 4, 20, 2.0, now::get);
+        saturate(limiter, 5, () -> uniform(4, 6));
+
+        // When / Act
+        int lowest = saturate(limiter, 5, () -> uniform(40, 60));
+
+        // Then / Assert
+        assertEquals(4, lowest);
+    }
+
+    @Test
+    @DisplayName("Given Overload Over When Latency Recovers then Raise The Limit Back")
+    void testGivenOverloadOver_WhenLatencyRecovers_thenRaiseTheLimitBack() {
+        // Given / Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(64, 1, 64, 2.0, now::get);
+        saturate(limiter, 20, () -> uniform(0.5, 3));
+        saturate(limiter, 3, () -> uniform(20, 30));
+        int backedOff = limiter.limit();
+
+        // When / Act
+        saturate(limiter, 50, () -> uniform(0.5, 3));
+
+        // Then / Assert
+        assertTrue(backedOff < 64);
+        assertEquals(64, limiter.limit());
+    }
+
+    @Test
+    @DisplayName("Given Database Permanently Slower When Windows Close then Adopt The New Baseline")
+    void testGivenDatabasePermanentlySlower_WhenWindowsClose_thenAdoptTheNewBaseline() {
+        // Given / Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 10, 2.0, now::get);
+        saturate(limiter, 5, () -> FAST);
+        int backedOff = saturate(limiter, 10, () -> SLOW);
+
+        // When / Act
+        saturate(limiter, 200, () -> SLOW);
+
+        // Then / Assert
+        assertEquals(1, backedOff);
+        assertEquals(10, limiter.limit());
+    }
+
+    /**
+     * Keeps every slot busy for the given number of sampling windows, each response taking the
+     * next latency, and returns the lowest limit seen.
+     */
+    private int saturate(AdaptiveConcurrencyLimiter limiter, int windows, LongSupplier latencies) {
+        int lowest = limiter.limit();
+        long end = now.get() + windows * AdaptiveConcurrencyLimiter.SAMPLE_WINDOW;
+        while (now.get() < end) {
+            int acquired = 0;
+            while (limiter.tryAcquire()) acquired++;
+            for (int i = 0; i < acquired; i++) {
+                now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+                limiter.release(latencies.getAsLong());
+                lowest = Math.min(lowest, limiter.limit());
+            }
+        }
+        return lowest;
+    }
+
+    private long uniform(double fromMillis, double toMillis) {
+        return (long) (TimeUnit.MILLISECONDS.toNanos(1) * (fromMillis + random.nextDouble() * (toMillis - fromMillis)));
+    }
+}
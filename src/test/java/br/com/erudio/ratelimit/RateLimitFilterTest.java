@@ -0,0 +1,148 @@
+package br.com.erudio.ratelimit;
+
+import br.com.erudio.exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimitFilterTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    // Stands in for the MVC exception handlers, which the filter delegates the 429 to
+    private final HandlerExceptionResolver resolver = (request, response, handler, ex) -> {
+        response.setStatus(429);
+        response.setHeader("Retry-After", String.valueOf(((TooManyRequestsException) ex).getRetryAfterSeconds()));
+        return new ModelAndView();
+    };
+
+    private AdaptiveConcurrencyLimiter searchConcurrency;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setup() {
+        // Given / Arrange
+        searchConcurrency = new AdaptiveConcurrencyLimiter(1, 1, 1, 2.0);
+        filter = new RateLimitFilter(List.of(
+                rule("search", Set.of("GET"), "/person/search", Set.of(), null, searchConcurrency),
+                rule("multi-get", Set.of("GET"), "/person", Set.of("ids"), new StripedTokenBucket(0.5, 1, 64), null),
+                rule("reads", Set.of("GET"), "/person/**", Set.of(), new StripedTokenBucket(0.5, 2, 64), null)),
+                "X-Client-Id", resolver);
+    }
+
+    @Test
+    @DisplayName("Given Client Over Its Rate When Request then Return Too Many Requests With Retry After")
+    void testGivenClientOverItsRate_WhenRequest_thenReturnTooManyRequestsWithRetryAfter() throws Exception {
+        // Given / Arrange
+        perform("GET", "/person/1", "a");
+        perform("GET", "/person/1", "a");
+
+        // When / Act
+        MockHttpServletResponse rejected = perform("GET", "/person/1", "a");
+        MockHttpServletResponse otherClient = perform("GET", "/person/1", "b");
+
+        // Then / Assert
+        assertEquals(429, rejected.getStatus());
+        assertEquals("2", rejected.getHeader("Retry-After"));
+        assertEquals(200, otherClient.getStatus());
+        assertEquals(1.0, counter("reads", "rate").count());
+    }
+
+    @Test
+    @DisplayName("Given No Client Header Configured When Client Id Changes then Keep Limiting By Address")
+    void testGivenNoClientHeaderConfigured_WhenClientIdChanges_thenKeepLimitingByAddress() throws Exception {
+        // Given / Arrange
+        filter = new RateLimitFilter(List.of(
+                rule("reads", Set.of("GET"), "/person/**", Set.of(), new StripedTokenBucket(0.5, 2, 64), null)),
+                null, resolver);
+        perform("GET", "/person/1", "a");
+        perform("GET", "/person/1", "b");
+
+        // When / Act
+        MockHttpServletResponse rejected = perform("GET", "/person/1", "c");
+
+        // Then / Assert
+        assertEquals(429, rejected.getStatus());
+    }
+
+    @Test
+    @DisplayName("Given Endpoint At Its Concurrency Limit When Request then Return Too Many Requests")
+    void testGivenEndpointAtItsConcurrencyLimit_WhenRequest_thenReturnTooManyRequests() throws Exception {
+        // Given / Arrange
+        assertTrue(searchConcurrency.tryAcquire());
+
+        // When / Act
+        MockHttpServletResponse rejected = perform("GET", "/person/search", "a");
+        searchConcurrency.release(1_000_000);
+        MockHttpServletResponse accepted = perform("GET", "/person/search", "a");
+
+        // Then / Assert
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertEquals(200, accepted.getStatus());
+        assertEquals(0, searchConcurrency.inFlight());
+        assertEquals(1.0, counter("search", "concurrency").count());
+    }
+
+    @Test
+    @DisplayName("Given Rule Requiring A Parameter When Request then Apply It Only With That Parameter")
+    void testGivenRuleRequiringAParameter_WhenRequest_thenApplyItOnlyWithThatParameter() throws Exception {
+        // Given / Arrange
+        perform("GET", "/person?ids=1,2", "a");
+
+        // When / Act
+        MockHttpServletResponse multiGet = perform("GET", "/person?ids=1,2", "a");
+        MockHttpServletResponse list = perform("GET", "/person", "a");
+
+        // Then / Assert
+        assertEquals(429, multiGet.getStatus());
+        assertEquals(200, list.getStatus());
+        assertEquals(1.0, counter("multi-get", "rate").count());
+        assertEquals(0.0, counter("reads", "rate").count());
+    }
+
+    @Test
+    @DisplayName("Given Request Matching No Rule When Request then Pass Through")
+    void testGivenRequestMatchingNoRule_WhenRequest_thenPassThrough() throws Exception {
+        // When / Act / Then / Assert
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, perform("POST", "/person", "a").getStatus());
+        }
+    }
+
+    private MockHttpServletResponse perform(String method, String uri, String client) throws Exception {
+        MockHttpServletRequest request = MockMvcRequestBuilders.request(HttpMethod.valueOf(method), uri)
+                .header("X-Client-Id", client)
+                .buildRequest(new MockServletContext());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private RateLimitFilter.Rule rule(String name, Set<String> methods, String path, Set<String> params,
+            StripedTokenBucket rate, AdaptiveConcurrencyLimiter concurrency) {
+        return new RateLimitFilter.Rule(name, methods, PathPatternParser.defaultInstance.parse(path), params,
+                rate, concurrency, counter(name, "rate"), counter(name, "concurrency"));
+    }
+
+    private Counter counter(String endpoint, String limiter) {
+        return registry.counter("person.requests.rejected", "endpoint", endpoint, "limiter", limiter);
+    }
+}
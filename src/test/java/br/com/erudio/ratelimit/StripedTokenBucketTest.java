@@ -0,0 +1,91 @@
+package br.com.erudio.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StripedTokenBucketTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    @Test
+    @DisplayName("Given Full Bucket When Burst Exhausted then Reject With Time Until Next Permit")
+    void testGivenFullBucket_WhenBurstExhausted_thenRejectWithTimeUntilNextPermit() {
+        // Given / Arrange
+        StripedTokenBucket bucket = new StripedTokenBucket(10, 3, 16, now::get);
+
+        // When / Act
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.tryAcquire("client"));
+        }
+        long wait = bucket.tryAcquire("client");
+
+        // Then / Assert
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), wait);
+    }
+
+    @Test
+    @DisplayName("Given Empty Bucket When Time Passes then Refill At The Configured Rate")
+    void testGivenEmptyBucket_WhenTimePasses_thenRefillAtTheConfiguredRate() {
+        // Given / Arrange
+        StripedTokenBucket bucket = new StripedTokenBucket(10, 2, 16, now::get);
+        bucket.tryAcquire("client");
+        bucket.tryAcquire("client");
+
+        // When / Act
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+        // Then / Assert
+        assertEquals(0, bucket.tryAcquire("client"));
+        assertTrue(bucket.tryAcquire("client") > 0);
+    }
+
+    @Test
+    @DisplayName("Given Two Clients When One Exhausts Its Bucket then The Other Keeps Its Permits")
+    void testGivenTwoClients_WhenOneExhaustsItsBucket_thenTheOtherKeepsItsPermits() {
+        // Given / Arrange
+        StripedTokenBucket bucket = new StripedTokenBucket(1, 1, 4096, now::get);
+
+        // When / Act
+        bucket.tryAcquire("10.0.0.1");
+
+        // Then / Assert
+        assertTrue(bucket.tryAcquire("10.0.0.1") > 0);
+        assertEquals(0, bucket.tryAcquire("10.0.0.2"));
+    }
+
+    @Test
+    @DisplayName("Given Concurrent Callers When Acquire then Never Hand Out More Than The Burst")
+    void testGivenConcurrentCallers_WhenAcquire_thenNeverHandOutMoreThanTheBurst() throws Exception {
+        // Given / Arrange
+        StripedTokenBucket bucket = new StripedTokenBucket(1, 100, 16, now::get);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger granted = new AtomicInteger();
+
+        // When / Act
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 1000; i++) {
+                    if (bucket.tryAcquire("client") == 0) granted.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Then / Assert
+        assertEquals(100, granted.get());
+    }
+}
@@ -1,5 +1,6 @@
 package br.com.erudio.repositories;
 
+import br.com.erudio.dto.PersonDTO;
 import br.com.erudio.integrationtests.testcontainers.AbstractIntegrationTest;
 import br.com.erudio.model.Person;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,8 +9,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -196,4 +199,38 @@ class PersonRepositoryTest extends AbstractIntegrationTest {
         assertEquals(firstName, savedPerson.getFirstName());
         assertEquals(lastName, savedPerson.getLastName());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Given Person List when FindDTOsByIdGreaterThan then Return DTO Page After Id")
+    void testGivenPersonList_whenFindDTOsByIdGreaterThan_thenReturnDTOPageAfterId() {
+        // Given / Arrange
+        Person person1 = new Person(
+                "Maria",
+                "Costa",
+                "maria@erudio.com.br",
+                "Minas Gerais",
+                "Female");
+        personRepository.save(person0);
+        personRepository.save(person1);
+
+        // When / Act
+        List<PersonDTO> page = personRepository.findDTOsByIdGreaterThan(person0.getId(), Limit.of(10));
+
+        // Then / Assert
+        assertEquals(List.of(PersonDTO.of(person1)), page);
+    }
+
+    @Test
+    @DisplayName("Given Person Object when FindFieldsByIdGreaterThan then Return Requested Fields Only")
+    void testGivenPersonObject_whenFindFieldsByIdGreaterThan_thenReturnRequestedFieldsOnly() {
+        // Given / Arrange
+        personRepository.save(person0);
+
+        // When / Act
+        List<Map<String, Object>> rows =
+                personRepository.findFieldsByIdGreaterThan(List.of("id", "email"), 0L, 10);
+
+        // Then / Assert
+        assertEquals(List.of(Map.of("id", person0.getId(), "email", person0.getEmail())), rows);
+    }
+}
@@ -0,0 +1,97 @@
+package br.com.erudio.repositories;
+
+import br.com.erudio.integrationtests.testcontainers.AbstractIntegrationTest;
+import br.com.erudio.model.Person;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Starts from the schema the app wrote with ddl-auto: update before the migrations and @Version existed
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PersonSchemaMigrationTest.PreSeriesSchema.class)
+class PersonSchemaMigrationTest extends AbstractIntegrationTest {
+
+    @TestConfiguration
+    static class PreSeriesSchema {
+
+        @Bean
+        FlywayMigrationStrategy preSeriesSchemaThenMigrate() {
+            return flyway -> {
+                JdbcTemplate jdbc = new JdbcTemplate(flyway.getConfiguration().getDataSource());
+                jdbc.execute("create table person (id bigint not null auto_increment, "
+                        + "address varchar(100) not null, email varchar(100) not null, "
+                        + "first_name varchar(80) not null, gender varchar(6) not null, "
+                        + "last_name varchar(80) not null, primary key (id)) engine=InnoDB");
+                jdbc.update("insert into person (first_name, last_name, email, address, gender) values "
+                        + "('Ayrton', 'Senna', 'senna@erudio.com.br', 'São Paulo', 'Male'), "
+                        + "('Nelson', 'Piquet', 'piquet@erudio.com.br', 'Rio de Janeiro', 'Male')");
+                flyway.migrate();
+            };
+        }
+    }
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private PersonRepository repository;
+
+    @Test
+    @DisplayName("Given Pre-Series Schema When Migrate then Baseline At V1 And Apply The Rest")
+    void testGivenPreSeriesSchema_WhenMigrate_thenBaselineAtV1AndApplyTheRest() {
+        // When / Act
+        List<String> applied = Arrays.stream(flyway.info().applied())
+                .map(MigrationInfo::getVersion)
+                .map(Object::toString)
+                .toList();
+
+        // Then / Assert
+        assertEquals("1", applied.get(0));
+        assertTrue(applied.containsAll(List.of("1.1", "2", "3")));
+        assertEquals(0, flyway.info().pending().length);
+    }
+
+    @Test
+    @DisplayName("Given Pre-Series Rows When Load And Update then Start At Version Zero")
+    void testGivenPreSeriesRows_WhenLoadAndUpdate_thenStartAtVersionZero() {
+        // Given / Arrange
+        Person senna = repository.findByEmail("senna@erudio.com.br").orElseThrow();
+        assertEquals(0L, senna.getVersion());
+
+        // When / Act
+        senna.setAddress("Monaco");
+        Person updated = repository.saveAndFlush(senna);
+
+        // Then / Assert
+        assertEquals(1L, updated.getVersion());
+    }
+
+    @Test
+    @DisplayName("Given Pre-Series Ids When Save New Person then Take An Id After Them")
+    void testGivenPreSeriesIds_WhenSaveNewPerson_thenTakeAnIdAfterThem() {
+        // Given / Arrange
+        Person person = new Person("Emerson", "Fittipaldi", "fittipaldi@erudio.com.br", "São Paulo", "Male");
+
+        // When / Act
+        Person saved = repository.saveAndFlush(person);
+
+        // Then / Assert
+        Long piquet = repository.findByEmail("piquet@erudio.com.br").orElseThrow().getId();
+        assertTrue(saved.getId() > piquet);
+    }
+}
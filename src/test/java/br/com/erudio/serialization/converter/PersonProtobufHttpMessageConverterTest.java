@@ -0,0 +1,146 @@
+package br.com.erudio.serialization.converter;
+
+import br.com.erudio.dto.PersonDTO;
+import br.com.erudio.model.Person;
+import br.com.erudio.repositories.PersonFieldsRepository;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.UnknownFieldSet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PersonProtobufHttpMessageConverterTest {
+
+    private final PersonProtobufHttpMessageConverter converter = new PersonProtobufHttpMessageConverter();
+
+    @Test
+    @DisplayName("Given Person When Write And Read then Return Equal Person")
+    void testGivenPerson_WhenWriteAndRead_thenReturnEqualPerson() throws Exception {
+        // Given / Arrange
+        Person person = new Person(7L, "Leandro", "Costa", "leandro@erudio.com.br",
+                "Uberlândia - Minas Gerais - Brasil", "Male");
+        person.setVersion(3L);
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        // When / Act
+        converter.write(person, Person.class, PersonProtobufHttpMessageConverter.APPLICATION_PROTOBUF, output);
+        Person read = (Person) converter.read(Person.class, null,
+                new MockHttpInputMessage(output.getBodyAsBytes()));
+
+        // Then / Assert
+        assertEquals(person, read);
+        assertEquals("Uberlândia - Minas Gerais - Brasil", read.getAddress());
+        assertEquals(3L, read.getVersion());
+    }
+
+    @Test
+    @DisplayName("Given Person Dto When Write then Use The Schema Field Numbers")
+    void testGivenPersonDto_WhenWrite_thenUseTheSchemaFieldNumbers() throws Exception {
+        // Given / Arrange
+        PersonDTO person = new PersonDTO(7L, "Leandro", "Costa", "Uberlândia", "Male", "leandro@erudio.com.br", 3L);
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        // When / Act
+        converter.write(person, PersonDTO.class, PersonProtobufHttpMessageConverter.APPLICATION_PROTOBUF, output);
+        UnknownFieldSet fields = UnknownFieldSet.parseFrom(output.getBodyAsBytes());
+
+        // Then / Assert
+        assertEquals(List.of(7L), fields.getField(1).getVarintList());
+        assertEquals("Leandro", fields.getField(2).getLengthDelimitedList().get(0).toStringUtf8());
+        assertEquals("Uberlândia", fields.getField(4).getLengthDelimitedList().get(0).toStringUtf8());
+        assertEquals("leandro@erudio.com.br", fields.getField(6).getLengthDelimitedList().get(0).toStringUtf8());
+        assertEquals(List.of(3L), fields.getField(7).getVarintList());
+    }
+
+    @Test
+    @DisplayName("Given Selected Fields Rows When Write then Leave Other Fields Out")
+    void testGivenSelectedFieldsRows_WhenWrite_thenLeaveOtherFieldsOut() throws Exception {
+        // Given / Arrange
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", 7L);
+        row.put("email", "leandro@erudio.com.br");
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        // When / Act
+        converter.write(List.of(row), List.class, PersonProtobufHttpMessageConverter.APPLICATION_PROTOBUF, output);
+        List<Person> people = PersonProtobufHttpMessageConverter.readPeople(
+                CodedInputStream.newInstance(output.getBodyAsBytes()));
+
+        // Then / Assert
+        assertEquals(1, people.size());
+        assertEquals(7L, people.get(0).getId());
+        assertEquals("leandro@erudio.com.br", people.get(0).getEmail());
+        assertNull(people.get(0).getFirstName());
+    }
+
+    @Test
+    @DisplayName("Given Every Selectable Field When Write Row then Use The Schema Field Numbers")
+    void testGivenEverySelectableField_WhenWriteRow_thenUseTheSchemaFieldNumbers() throws Exception {
+        // Given / Arrange
+        Map<String, Object> values = Map.of("id", 7L, "firstName", "Leandro", "lastName", "Costa",
+                "address", "Uberlândia", "gender", "Male", "email", "leandro@erudio.com.br", "version", 3L);
+        // Whatever the whitelist order, each field keeps its number
+        List<String> names = new ArrayList<>(PersonFieldsRepository.FIELDS);
+        Collections.reverse(names);
+        Map<String, Object> row = new LinkedHashMap<>();
+        names.forEach(name -> row.put(name, values.get(name)));
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        // When / Act
+        converter.write(row, Map.class, PersonProtobufHttpMessageConverter.APPLICATION_PROTOBUF, output);
+        UnknownFieldSet fields = UnknownFieldSet.parseFrom(output.getBodyAsBytes());
+
+        // Then / Assert
+        assertEquals(List.of(7L), fields.getField(1).getVarintList());
+        assertEquals("Leandro", fields.getField(2).getLengthDelimitedList().get(0).toStringUtf8());
+        assertEquals("Costa", fields.getField(3).getLengthDelimitedList().get(0).toStringUtf8());
+        assertEquals("Uberlândia", fields.getField(4).getLengthDelimitedList().get(0).toStringUtf8());
+        assertEquals("Male", fields.getField(5).getLengthDelimitedList().get(0).toStringUtf8());
+        assertEquals("leandro@erudio.com.br", fields.getField(6).getLengthDelimitedList().get(0).toStringUtf8());
+        assertEquals(List.of(3L), fields.getField(7).getVarintList());
+    }
+
+    @Test
+    @DisplayName("Given Problem Detail When Write then Use The Problem Field Numbers")
+    void testGivenProblemDetail_WhenWrite_thenUseTheProblemFieldNumbers() throws Exception {
+        // Given / Arrange
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, "No records found for this ID!");
+        problem.setInstance(URI.create("/person/7"));
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        // When / Act
+        converter.write(problem, ProblemDetail.class, PersonProtobufHttpMessageConverter.APPLICATION_PROTOBUF, output);
+        UnknownFieldSet fields = UnknownFieldSet.parseFrom(output.getBodyAsBytes());
+
+        // Then / Assert
+        assertEquals("about:blank", fields.getField(1).getLengthDelimitedList().get(0).toStringUtf8());
+        assertEquals("Not Found", fields.getField(2).getLengthDelimitedList().get(0).toStringUtf8());
+        assertEquals(List.of(404L), fields.getField(3).getVarintList());
+        assertEquals("No records found for this ID!", fields.getField(4).getLengthDelimitedList().get(0).toStringUtf8());
+        assertEquals("/person/7", fields.getField(5).getLengthDelimitedList().get(0).toStringUtf8());
+    }
+
+    @Test
+    @DisplayName("Given Truncated Message When Read then Throws Exception")
+    void testGivenTruncatedMessage_WhenRead_thenThrowsException() {
+        // Given / Arrange
+        byte[] truncated = {0x12, 0x10, 'L', 'e'};
+
+        // When / Act / Then / Assert
+        assertThrows(HttpMessageNotReadableException.class,
+                () -> converter.read(Person.class, null, new MockHttpInputMessage(truncated)));
+    }
+}
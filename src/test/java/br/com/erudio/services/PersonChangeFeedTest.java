@@ -0,0 +1,167 @@
+package br.com.erudio.services;
+
+import br.com.erudio.model.PersonChange;
+import br.com.erudio.repositories.PersonChangeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class PersonChangeFeedTest {
+
+    private static final long TIMEOUT_MILLIS = 5_000;
+
+    @Mock
+    private PersonChangeRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PersonChangeFeed feed;
+
+    // Records the change positions a client received
+    private static class RecordingEmitter extends SseEmitter {
+        final List<Long> positions = new CopyOnWriteArrayList<>();
+        volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            for (var part : builder.build()) {
+                for (String line : part.getData().toString().split("\n")) {
+                    if (line.startsWith("id:")) positions.add(Long.valueOf(line.substring(3)));
+                }
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+
+    // A client that stopped reading: once stalled, every send blocks until released
+    private static class StalledEmitter extends RecordingEmitter {
+        final CountDownLatch release = new CountDownLatch(1);
+        volatile boolean stalled;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (stalled) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            super.send(builder);
+        }
+    }
+
+    @BeforeEach
+    void setup() {
+        // Given / Arrange
+        feed = new PersonChangeFeed(repository, transactionManager, Duration.ofMillis(200), 500,
+                Duration.ofDays(7), Duration.ofMinutes(30), Duration.ofSeconds(15), 2);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        feed.stop();
+    }
+
+    @Test
+    @DisplayName("Given Stalled Stream When Dispatch then Other Streams Still Receive Changes")
+    void testGivenStalledStream_WhenDispatch_thenOtherStreamsStillReceiveChanges() throws Exception {
+        // Given / Arrange
+        given(repository.findLastPosition()).willReturn(2L);
+        given(repository.findByPositionGreaterThanOrderByPositionAsc(eq(0L), any(Limit.class)))
+                .willReturn(changes(1, 2));
+        StalledEmitter stalled = new StalledEmitter();
+        RecordingEmitter healthy = new RecordingEmitter();
+        feed.register(stalled, 0);
+        feed.register(healthy, 0);
+        stalled.stalled = true;
+
+        // When / Act
+        feed.dispatch();
+
+        // Then / Assert
+        await(() -> healthy.positions.size() == 2);
+        assertEquals(List.of(1L, 2L), healthy.positions);
+        assertTrue(stalled.positions.isEmpty());
+        assertEquals(2, feed.subscriberCount());
+        stalled.release.countDown();
+        await(() -> stalled.positions.size() == 2);
+    }
+
+    @Test
+    @DisplayName("Given Stream Behind By More Than Its Queue When Dispatch then Close Only That Stream")
+    void testGivenStreamBehindByMoreThanItsQueue_WhenDispatch_thenCloseOnlyThatStream() throws Exception {
+        // Given / Arrange
+        given(repository.findLastPosition()).willReturn(2L, 4L);
+        given(repository.findByPositionGreaterThanOrderByPositionAsc(eq(0L), any(Limit.class)))
+                .willReturn(changes(1, 2));
+        given(repository.findByPositionGreaterThanOrderByPositionAsc(eq(2L), any(Limit.class)))
+                .willReturn(changes(3, 4));
+        StalledEmitter stalled = new StalledEmitter();
+        RecordingEmitter healthy = new RecordingEmitter();
+        feed.register(stalled, 0);
+        feed.register(healthy, 0);
+        stalled.stalled = true;
+        feed.dispatch();
+        await(() -> healthy.positions.size() == 2);
+
+        // When / Act
+        feed.dispatch();
+
+        // Then / Assert
+        await(() -> healthy.positions.size() == 4);
+        assertEquals(List.of(1L, 2L, 3L, 4L), healthy.positions);
+        assertEquals(1, feed.subscriberCount());
+        assertFalse(healthy.completed);
+        // Completed by its own sender once the blocked send returns
+        assertFalse(stalled.completed);
+        stalled.release.countDown();
+        await(() -> stalled.completed);
+    }
+
+    private static List<PersonChange> changes(long... positions) {
+        List<PersonChange> changes = new ArrayList<>();
+        for (long position : positions) {
+            PersonChange change = new PersonChange();
+            change.setPosition(position);
+            changes.add(change);
+        }
+        return changes;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) fail("Condition not met within " + TIMEOUT_MILLIS + " ms");
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package br.com.erudio.services;
+
+import br.com.erudio.model.Person;
+import br.com.erudio.model.PersonChange;
+import br.com.erudio.model.PersonChange.Type;
+import br.com.erudio.repositories.PersonRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class PersonSearchIndexTest {
+
+    private PersonSearchIndex index;
+
+    @BeforeEach
+    void setup() {
+        // Given / Arrange
+        index = new PersonSearchIndex();
+        index.feed = mock(PersonChangeFeed.class);
+        index.repository = mock(PersonRepository.class);
+        index.entityManager = mock(EntityManager.class);
+        index.transactionManager = mock(PlatformTransactionManager.class);
+        index.mapper = new ObjectMapper();
+        index.batchSize = 500;
+        index.index(new Person(1L, "Leandro", "Costa", "leandro@erudio.com.br",
+                "Uberlândia - Minas Gerais - Brasil", "Male"));
+        index.index(new Person(2L, "Maria", "Costa", "maria@erudio.com.br",
+                "Montes Verdes - Minas Gerais - Brasil", "Female"));
+        index.index(new Person(3L, "Ayrton", "Senna", "senna@erudio.com.br",
+                "São Paulo - Brasil", "Male"));
+        index.index(new Person(4L, "Costanza", "Bianchi", "bianchi@erudio.com.br",
+                "Roma - Italia", "Female"));
+    }
+
+    @Test
+    @DisplayName("Given Indexed People When Search Partial Name then Return Matching Ids")
+    void testGivenIndexedPeople_WhenSearchPartialName_thenReturnMatchingIds() {
+        // When / Act
+        PersonSearchIndex.Hits hits = index.search("andr", 0, 10);
+
+        // Then / Assert
+        assertEquals(List.of(1L), hits.ids());
+        assertEquals(1, hits.total());
+    }
+
+    @Test
+    @DisplayName("Given Indexed People When Search then Rank Whole Word Before Prefix And Name Before Address")
+    void testGivenIndexedPeople_WhenSearch_thenRankWholeWordBeforePrefix() {
+        // When / Act
+        PersonSearchIndex.Hits hits = index.search("costa", 0, 10);
+
+        // Then / Assert
+        assertEquals(List.of(1L, 2L, 4L), hits.ids());
+    }
+
+    @Test
+    @DisplayName("Given Several Terms When Search then Every Term Must Match")
+    void testGivenSeveralTerms_WhenSearch_thenEveryTermMustMatch() {
+        // When / Act
+        PersonSearchIndex.Hits hits = index.search("costa montes", 0, 10);
+
+        // Then / Assert
+        assertEquals(List.of(2L), hits.ids());
+    }
+
+    @Test
+    @DisplayName("Given Accented Address When Search Without Accents then Return Match")
+    void testGivenAccentedAddress_WhenSearchWithoutAccents_thenReturnMatch() {
+        // When / Act
+        PersonSearchIndex.Hits withoutAccents = index.search("sao paulo", 0, 10);
+        PersonSearchIndex.Hits withAccents = index.search("UBERLÂNDIA", 0, 10);
+
+        // Then / Assert
+        assertEquals(List.of(3L), withoutAccents.ids());
+        assertEquals(List.of(1L), withAccents.ids());
+    }
+
+    @Test
+    @DisplayName("Given Short Term When Search then Match Only Word Prefixes")
+    void testGivenShortTerm_WhenSearch_thenMatchOnlyWordPrefixes() {
+        // When / Act
+        PersonSearchIndex.Hits hits = index.search("ro", 0, 10);
+
+        // Then / Assert
+        assertEquals(List.of(4L), hits.ids());
+    }
+
+    @Test
+    @DisplayName("Given Many Matches When Search Page then Return Slice And Total")
+    void testGivenManyMatches_WhenSearchPage_thenReturnSliceAndTotal() {
+        // When / Act
+        PersonSearchIndex.Hits hits = index.search("erudio", 1, 2);
+
+        // Then / Assert
+        assertEquals(List.of(2L, 3L), hits.ids());
+        assertEquals(4, hits.total());
+    }
+
+    @Test
+    @DisplayName("Given Updated And Removed People When Search then Reflect Latest State")
+    void testGivenUpdatedAndRemovedPeople_WhenSearch_thenReflectLatestState() throws Exception {
+        // Given / Arrange
+        index.index(new Person(1L, "Leandro", "Silva", "leandro@erudio.com.br",
+                "Uberlândia - Minas Gerais - Brasil", "Male"));
+        index.apply(change(2L, Type.DELETE, null));
+
+        // When / Act
+        PersonSearchIndex.Hits hits = index.search("costa", 0, 10);
+
+        // Then / Assert
+        assertEquals(List.of(4L), hits.ids());
+        assertEquals(3, index.size());
+        assertTrue(index.search("maria", 0, 10).ids().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Given Changes Written By Any Instance When Catch Up then Apply Them In Feed Order")
+    void testGivenChangesWrittenByAnyInstance_WhenCatchUp_thenApplyThemInFeedOrder() throws Exception {
+        // Given / Arrange
+        given(index.feed.lastPosition()).willReturn(0L);
+        given(index.repository.streamAll()).willReturn(Stream.empty());
+        index.rebuild();
+        given(index.feed.read(0L, 500)).willReturn(List.of(
+                position(1, change(5L, Type.CREATE, new Person(5L, "Emerson", "Fittipaldi",
+                        "fittipaldi@erudio.com.br", "São Paulo - Brasil", "Male"))),
+                position(2, change(5L, Type.UPDATE, new Person(5L, "Emerson", "Fittipaldi",
+                        "emerson@erudio.com.br", "São Paulo - Brasil", "Male")))));
+        given(index.feed.read(2L, 500)).willReturn(List.of(position(3, change(5L, Type.DELETE, null))));
+
+        // When / Act
+        int first = index.catchUp();
+        List<Long> afterUpdate = index.search("emerson", 0, 10).ids();
+        int second = index.catchUp();
+
+        // Then / Assert
+        assertEquals(2, first);
+        assertEquals(List.of(5L), afterUpdate);
+        assertEquals(1, second);
+        assertTrue(index.search("fittipaldi", 0, 10).ids().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Given Writes While The Table Is Read When Rebuild And Catch Up then Reflect Them")
+    void testGivenWritesWhileTheTableIsRead_WhenRebuildAndCatchUp_thenReflectThem() throws Exception {
+        // Given / Arrange
+        // The build reads position 10, then a table that still has Maria and Leandro's old last name,
+        // and no longer has Ayrton and Costanza
+        given(index.feed.lastPosition()).willReturn(10L);
+        given(index.repository.streamAll()).willReturn(Stream.of(
+                new Person(1L, "Leandro", "Costa", "leandro@erudio.com.br", "Uberlândia - Minas Gerais - Brasil", "Male"),
+                new Person(2L, "Maria", "Costa", "maria@erudio.com.br", "Montes Verdes - Minas Gerais - Brasil", "Female")));
+        given(index.feed.read(10L, 500)).willReturn(List.of(
+                position(11, change(1L, Type.UPDATE, new Person(1L, "Leandro", "Silva", "leandro@erudio.com.br",
+                        "Uberlândia - Minas Gerais - Brasil", "Male"))),
+                position(12, change(2L, Type.DELETE, null))));
+
+        // When / Act
+        index.rebuild();
+        index.catchUp();
+
+        // Then / Assert
+        assertEquals(1, index.size());
+        assertEquals(List.of(1L), index.search("silva", 0, 10).ids());
+        assertTrue(index.search("costa", 0, 10).ids().isEmpty());
+        assertTrue(index.search("senna", 0, 10).ids().isEmpty());
+    }
+
+    private PersonChange change(Long id, Type type, Person person) throws Exception {
+        String payload = person == null ? null : index.mapper.writeValueAsString(person);
+        return new PersonChange(id, type, null, payload, Instant.now());
+    }
+
+    private static PersonChange position(long position, PersonChange change) {
+        change.setPosition(position);
+        return change;
+    }
+}
@@ -0,0 +1,203 @@
+package br.com.erudio.services;
+
+import br.com.erudio.config.CacheConfig;
+import br.com.erudio.model.Person;
+import br.com.erudio.repositories.PersonRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.event.TransactionalEventListenerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// TransactionalEventListenerFactory defers the after-commit eviction while a transaction is simulated
+@SpringBootTest(classes = {PersonServices.class, PersonCacheEviction.class, CacheConfig.class,
+        TransactionalEventListenerFactory.class})
+@ImportAutoConfiguration(CacheAutoConfiguration.class)
+class PersonServicesCacheTest {
+
+    @Autowired
+    private PersonServices services;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockBean
+    private PersonRepository repository;
+
+    @MockBean
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private PersonSearchIndex searchIndex;
+
+    @MockBean
+    private RecentWrites recentWrites;
+
+    private Person person0;
+
+    @BeforeEach
+    void setup() {
+        // Given / Arrange
+        cacheManager.getCache(CacheConfig.PERSON_CACHE).clear();
+        person0 = new Person(
+                1L,
+                "Leandro",
+                "Costa",
+                "leandro@erudio.com.br",
+                "Uberlândia - Minas Gerais - Brasil",
+                "Male");
+    }
+
+    @Test
+    @DisplayName("Given Cached Person When FindById Twice then Query Repository Once")
+    void testGivenCachedPerson_WhenFindByIdTwice_thenQueryRepositoryOnce() {
+        // Given / Arrange
+        given(repository.findById(1L)).willReturn(Optional.of(person0));
+
+        // When / Act
+        services.findById(1L);
+        Person cachedPerson = services.findById(1L);
+
+        // Then / Assert
+        assertEquals(person0, cachedPerson);
+        verify(repository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Given Concurrent Misses For The Same Id When FindById then Query Repository Once")
+    void testGivenConcurrentMissesForTheSameId_WhenFindById_thenQueryRepositoryOnce() throws Exception {
+        // Given / Arrange
+        int callers = 64;
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        given(repository.findById(1L)).willAnswer(invocation -> {
+            // Holds the first load open until every caller has had time to ask for the same id
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(person0);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<Person>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return services.findById(1L);
+                }));
+            }
+
+            // When / Act
+            start.countDown();
+            Thread.sleep(500);
+            release.countDown();
+
+            // Then / Assert
+            for (Future<Person> result : results) {
+                assertSame(person0, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(repository, times(1)).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Given Cached Person When FindByIds then Serve It From Cache")
+    void testGivenCachedPerson_WhenFindByIds_thenServeItFromCache() {
+        // Given / Arrange
+        given(repository.findById(1L)).willReturn(Optional.of(person0));
+        services.findById(1L);
+
+        // When / Act
+        var lookup = services.findByIds(List.of(1L));
+
+        // Then / Assert
+        assertEquals(List.of(person0), lookup.found());
+        assertTrue(lookup.missing().isEmpty());
+        verify(repository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Given Cached Person When Delete then Evict Person From Cache")
+    void testGivenCachedPerson_WhenDelete_thenEvictPersonFromCache() {
+        // Given / Arrange
+        given(repository.findById(1L)).willReturn(Optional.of(person0));
+        given(repository.deletePersonById(1L, null)).willReturn(1);
+        services.findById(1L);
+
+        // When / Act
+        services.delete(1L, null);
+
+        // Then / Assert
+        assertNull(cacheManager.getCache(CacheConfig.PERSON_CACHE).get(1L));
+    }
+
+    @Test
+    @DisplayName("Given Cached Person When Update then Evict Person From Cache")
+    void testGivenCachedPerson_WhenUpdate_thenEvictPersonFromCache() {
+        // Given / Arrange
+        given(repository.findById(1L)).willReturn(Optional.of(person0));
+        given(repository.updatePerson(1L, null, person0.getFirstName(), person0.getLastName(),
+                person0.getEmail(), person0.getAddress(), person0.getGender())).willReturn(1);
+        services.findById(1L);
+
+        // When / Act
+        services.update(person0);
+
+        // Then / Assert
+        assertNull(cacheManager.getCache(CacheConfig.PERSON_CACHE).get(1L));
+    }
+
+    @Test
+    @DisplayName("Given Read Before The Update Commits When Commit then Evict The Stale Person")
+    void testGivenReadBeforeTheUpdateCommits_WhenCommit_thenEvictTheStalePerson() {
+        // Given / Arrange
+        Person changed = new Person(1L, "Leandro", "Costa", "leandro@erudio.com.br", "Lisboa - Portugal", "Male");
+        given(repository.updatePerson(1L, null, changed.getFirstName(), changed.getLastName(),
+                changed.getEmail(), changed.getAddress(), changed.getGender())).willReturn(1);
+        // Until the commit, reads still see the old row
+        given(repository.findById(1L)).willReturn(Optional.of(person0));
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            services.update(changed);
+            services.findById(1L);
+            assertNotNull(cacheManager.getCache(CacheConfig.PERSON_CACHE).get(1L));
+
+            // When / Act
+            TransactionSynchronizationUtils.triggerAfterCommit();
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then / Assert
+        assertNull(cacheManager.getCache(CacheConfig.PERSON_CACHE).get(1L));
+    }
+}
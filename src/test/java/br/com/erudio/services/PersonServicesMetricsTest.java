@@ -0,0 +1,121 @@
+package br.com.erudio.services;
+
+import br.com.erudio.config.MetricsConfig;
+import br.com.erudio.dto.PersonDTO;
+import br.com.erudio.model.Person;
+import br.com.erudio.repositories.PersonRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+
+@SpringBootTest(classes = {PersonServices.class, MetricsConfig.class})
+@ImportAutoConfiguration({
+        AopAutoConfiguration.class,
+        MetricsAutoConfiguration.class,
+        SimpleMetricsExportAutoConfiguration.class,
+        CompositeMeterRegistryAutoConfiguration.class})
+class PersonServicesMetricsTest {
+
+    @Autowired
+    private PersonServices services;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @MockBean
+    private PersonRepository repository;
+
+    @MockBean
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private PersonSearchIndex searchIndex;
+
+    @MockBean
+    private RecentWrites recentWrites;
+
+    private Person person0;
+
+    @BeforeEach
+    void setup() {
+        // Given / Arrange
+        registry.clear();
+        person0 = new Person(
+                1L,
+                "Leandro",
+                "Costa",
+                "leandro@erudio.com.br",
+                "Uberlândia - Minas Gerais - Brasil",
+                "Male");
+    }
+
+    @Test
+    @DisplayName("Given Person When FindById then Record Service Timer")
+    void testGivenPerson_WhenFindById_thenRecordServiceTimer() {
+        // Given / Arrange
+        given(repository.findById(1L)).willReturn(Optional.of(person0));
+
+        // When / Act
+        services.findById(1L);
+
+        // Then / Assert
+        Timer timer = registry.get(MetricsConfig.PERSON_SERVICE_TIMER)
+                .tag("class", PersonServices.class.getName())
+                .tag("method", "findById")
+                .tag("exception", "none")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    @DisplayName("Given Nonexistent Person When FindById then Record Exception On Service Timer")
+    void testGivenNonexistentPerson_WhenFindById_thenRecordExceptionOnServiceTimer() {
+        // Given / Arrange
+        given(repository.findById(2L)).willReturn(Optional.empty());
+
+        // When / Act
+        assertThrows(RuntimeException.class, () -> services.findById(2L));
+
+        // Then / Assert
+        Timer timer = registry.get(MetricsConfig.PERSON_SERVICE_TIMER)
+                .tag("method", "findById")
+                .tag("exception", "ResourceNotFoundException")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    @DisplayName("Given People When FindAll And Delete then Record One Timer Per Method")
+    void testGivenPeople_WhenFindAllAndDelete_thenRecordOneTimerPerMethod() {
+        // Given / Arrange
+        given(repository.findDTOsByIdGreaterThan(0L, Limit.of(11))).willReturn(List.of(PersonDTO.of(person0)));
+        given(repository.deletePersonById(1L, null)).willReturn(1);
+
+        // When / Act
+        services.findAll(null, 10);
+        services.delete(1L, null);
+
+        // Then / Assert
+        assertNotNull(registry.find(MetricsConfig.PERSON_SERVICE_TIMER).tag("method", "findAll").timer());
+        assertNotNull(registry.find(MetricsConfig.PERSON_SERVICE_TIMER).tag("method", "delete").timer());
+        assertNull(registry.find(MetricsConfig.PERSON_SERVICE_TIMER).tag("method", "update").timer());
+    }
+}
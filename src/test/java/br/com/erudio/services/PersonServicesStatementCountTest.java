@@ -0,0 +1,191 @@
+package br.com.erudio.services;
+
+import br.com.erudio.dto.PersonLookup;
+import br.com.erudio.integrationtests.testcontainers.AbstractIntegrationTest;
+import br.com.erudio.model.Person;
+import br.com.erudio.repositories.PersonRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Counts the statements Hibernate prepares. Tests roll back unless they commit explicitly, and the
+// outbox writes on commit unless a full batch piles up first, so the outbox insert of a single
+// write is asserted by the test that commits
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({PersonServices.class, PersonChangeOutbox.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class PersonServicesStatementCountTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private PersonServices services;
+
+    @Autowired
+    private PersonRepository repository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private PersonSearchIndex searchIndex;
+
+    @MockBean
+    private RecentWrites recentWrites;
+
+    private Statistics statistics;
+
+    private Person person0;
+
+    @BeforeEach
+    void setup() {
+        // Given / Arrange
+        person0 = repository.saveAndFlush(new Person(
+                "Leandro",
+                "Costa",
+                "leandro@erudio.com.br",
+                "Minas Gerais",
+                "Male"));
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    // Tests that commit leave their rows behind; the others roll back and this deletes nothing
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("delete from person_change");
+        jdbcTemplate.update("delete from person");
+    }
+
+    @Test
+    @DisplayName("Given Expected Version When Update then Execute Exactly One Statement")
+    void testGivenExpectedVersion_WhenUpdate_thenExecuteExactlyOneStatement() {
+        // When / Act
+        Person changed = new Person(person0.getId(), "Leonardo", "Costa",
+                "leonardo@erudio.com.br", "Minas Gerais", "Male");
+        changed.setVersion(person0.getVersion());
+        Person updated = services.update(changed);
+
+        // Then / Assert
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(person0.getVersion() + 1, updated.getVersion());
+        entityManager.clear();
+        assertEquals("Leonardo", repository.findById(person0.getId()).get().getFirstName());
+    }
+
+    @Test
+    @DisplayName("Given No Version When Update then Read Back The Stored Version")
+    void testGivenNoVersion_WhenUpdate_thenReadBackTheStoredVersion() {
+        // When / Act
+        Person changed = new Person(person0.getId(), "Leonardo", "Costa",
+                "leonardo@erudio.com.br", "Minas Gerais", "Male");
+        Person updated = services.update(changed);
+
+        // Then / Assert
+        assertEquals(2, statistics.getPrepareStatementCount());
+        entityManager.clear();
+        assertEquals(repository.findById(person0.getId()).get().getVersion(), updated.getVersion());
+        assertEquals(person0.getVersion() + 1, updated.getVersion());
+    }
+
+    @Test
+    @DisplayName("Given Existing Person When Delete then Execute Exactly One Statement")
+    void testGivenExistingPerson_WhenDelete_thenExecuteExactlyOneStatement() {
+        // When / Act
+        services.delete(person0.getId(), null);
+
+        // Then / Assert
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertTrue(repository.findById(person0.getId()).isEmpty());
+    }
+
+    // The outbox insert goes out through JDBC right before commit, so Hibernate does not count it
+    @Test
+    @DisplayName("Given Committed Update And Delete When Count Statements then Add One Outbox Insert Per Transaction")
+    void testGivenCommittedUpdateAndDelete_WhenCountStatements_thenAddOneOutboxInsertPerTransaction() {
+        // Given / Arrange
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        statistics.clear();
+
+        // When / Act
+        Person changed = new Person(person0.getId(), "Leonardo", "Costa",
+                "leonardo@erudio.com.br", "Minas Gerais", "Male");
+        changed.setVersion(person0.getVersion());
+        services.update(changed);
+        services.delete(person0.getId(), null);
+
+        // Then / Assert
+        assertEquals(2, statistics.getPrepareStatementCount());
+        List<String> types = jdbcTemplate.queryForList(
+                "select type from person_change where person_id = ? order by id", String.class, person0.getId());
+        assertEquals(List.of("UPDATE", "DELETE"), types);
+    }
+
+    @Test
+    @DisplayName("Given Import Larger Than One Outbox Batch When Create All then Write Full Batches Before Commit")
+    void testGivenImportLargerThanOneOutboxBatch_WhenCreateAll_thenWriteFullBatchesBeforeCommit() {
+        // Given / Arrange
+        List<Person> people = new ArrayList<>();
+        for (int i = 0; i <= PersonChangeOutbox.BATCH_SIZE; i++) {
+            people.add(new Person("First" + i, "Last" + i, "import" + i + "@erudio.com.br", "Minas Gerais", "Male"));
+        }
+
+        // When / Act
+        services.createAll(people.iterator());
+
+        // Then / Assert
+        assertEquals(PersonChangeOutbox.BATCH_SIZE,
+                jdbcTemplate.queryForObject("select count(*) from person_change", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Given More Ids Than One Chunk When FindByIds then Execute One Statement Per Chunk In Request Order")
+    void testGivenMoreIdsThanOneChunk_WhenFindByIds_thenExecuteOneStatementPerChunkInRequestOrder() {
+        // Given / Arrange
+        List<Person> people = new ArrayList<>();
+        for (int i = 0; i < PersonServices.LOOKUP_CHUNK_SIZE * 2; i++) {
+            people.add(new Person("First" + i, "Last" + i, "lookup" + i + "@erudio.com.br", "Minas Gerais", "Male"));
+        }
+        repository.saveAllAndFlush(people);
+        entityManager.clear();
+        statistics.clear();
+
+        List<Long> ids = new ArrayList<>(people.stream().map(Person::getId).toList());
+        Collections.reverse(ids);
+        ids.add(person0.getId());
+        ids.add(-1L);
+
+        // When / Act
+        PersonLookup lookup = services.findByIds(ids);
+
+        // Then / Assert
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(ids.subList(0, ids.size() - 1), lookup.found().stream().map(Person::getId).toList());
+        assertEquals(List.of(-1L), lookup.missing());
+    }
+}
@@ -1,8 +1,14 @@
 package br.com.erudio.services;
 
+import br.com.erudio.config.ReplicaRouting;
+import br.com.erudio.dto.PersonDTO;
+import br.com.erudio.exceptions.BadRequestException;
+import br.com.erudio.exceptions.DuplicateEmailException;
+import br.com.erudio.exceptions.PreconditionFailedException;
 import br.com.erudio.exceptions.ResourceNotFoundException;
 import br.com.erudio.model.Person;
 import br.com.erudio.repositories.PersonRepository;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,15 +16,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
-import static org.mockito.BDDMockito.willDoNothing;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +41,18 @@ public class PersonServicesTest {
     @Mock
     private PersonRepository repository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PersonSearchIndex searchIndex;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
+    @Mock
+    private RecentWrites recentWrites;
+
     @InjectMocks
     private PersonServices services;
 
@@ -47,8 +73,7 @@ public class PersonServicesTest {
     @DisplayName("Given Person Object When Save Person then Return Person Object")
     void testGivenPersonObject_WhenSavePerson_thenReturnPersonObject() {
         // Given / Arrange
-        given(repository.findByEmail(anyString())).willReturn(Optional.empty());
-        given(repository.save(person0)).willReturn(person0);
+        given(repository.saveAndFlush(person0)).willReturn(person0);
 
         // When / Act
         Person savedPerson = services.create(person0);
@@ -56,25 +81,39 @@ public class PersonServicesTest {
         // Then / Assert
         assertNotNull(savedPerson);
         assertEquals("Leandro", savedPerson.getFirstName());
+        verify(repository, never()).findByEmail(anyString());
 
     }
     @Test
     @DisplayName("Given Existing Email When Save Person then Throws Exception")
     void testGivenExistingEmail_WhenSavePerson_thenThrowsException() {
         // Given / Arrange
-        given(repository.findByEmail(anyString())).willReturn(Optional.of(person0));
+        given(repository.saveAndFlush(person0)).willThrow(new DataIntegrityViolationException("could not execute statement",
+                new SQLIntegrityConstraintViolationException(
+                        "Duplicate entry 'leandro@erudio.com.br' for key 'person.uk_person_email'")));
 
         // When / Act
-        assertThrows(ResourceNotFoundException.class,
+        assertThrows(DuplicateEmailException.class,
                 () -> services.create(person0));
 
         // Then / Assert
-        verify(repository, never()).save(any(Person.class));
+        verify(repository, never()).findByEmail(anyString());
 
     }
     @Test
-    @DisplayName("Given Persons List When FindAll Persons then Return Persons List")
-    void testGivenPersonsList_WhenFindAllPersons_thenReturnPersonsList() {
+    @DisplayName("Given Other Constraint Violation When Save Person then Rethrows Exception")
+    void testGivenOtherConstraintViolation_WhenSavePerson_thenRethrowsException() {
+        // Given / Arrange
+        given(repository.saveAndFlush(person0)).willThrow(new DataIntegrityViolationException("could not execute statement",
+                new SQLIntegrityConstraintViolationException("Column 'address' cannot be null")));
+
+        // When / Act
+        assertThrows(DataIntegrityViolationException.class,
+                () -> services.create(person0));
+    }
+    @Test
+    @DisplayName("Given Persons Batch When Create All then Check Emails Once And Save Batch")
+    void testGivenPersonsBatch_WhenCreateAll_thenCheckEmailsOnceAndSaveBatch() {
         // Given / Arrange
         Person person1 = new Person(
                 "Maria",
@@ -82,30 +121,169 @@ public class PersonServicesTest {
                 "maria@erudio.com.br",
                 "Montes Verdes - Minas Gerais - Brasil",
                 "Female");
+        given(repository.findExistingEmails(anyCollection())).willReturn(Collections.emptyList());
+
+        // When / Act
+        int created = services.createAll(List.of(person0, person1).iterator());
+
+        // Then / Assert
+        assertEquals(2, created);
+        verify(repository, times(1)).findExistingEmails(anyCollection());
+        verify(repository, never()).findByEmail(anyString());
+        verify(repository).saveAll(List.of(person0, person1));
+        verify(entityManager).flush();
+    }
 
-        given(repository.findAll()).willReturn(List.of(person0, person1));
+    @Test
+    @DisplayName("Given Existing Email In Batch When Create All then Throws Exception")
+    void testGivenExistingEmailInBatch_WhenCreateAll_thenThrowsException() {
+        // Given / Arrange
+        given(repository.findExistingEmails(anyCollection())).willReturn(List.of(person0.getEmail()));
 
         // When / Act
-        List<Person> personsList = services.findAll();
+        assertThrows(DuplicateEmailException.class,
+                () -> services.createAll(List.of(person0).iterator()));
 
         // Then / Assert
-        assertNotNull(personsList);
-        assertEquals(2, personsList.size());
+        verify(repository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Given Email Inserted Concurrently When Create All then Throws Duplicate Email")
+    void testGivenEmailInsertedConcurrently_WhenCreateAll_thenThrowsDuplicateEmail() {
+        // Given / Arrange
+        given(repository.findExistingEmails(anyCollection())).willReturn(List.of());
+        doThrow(new DataIntegrityViolationException("could not execute statement",
+                new SQLIntegrityConstraintViolationException(
+                        "Duplicate entry 'leandro@erudio.com.br' for key 'person.uk_person_email'")))
+                .when(entityManager).flush();
 
+        // When / Act
+        assertThrows(DuplicateEmailException.class,
+                () -> services.createAll(List.of(person0).iterator()));
+
+        // Then / Assert
+        verify(events, never()).publishEvent(any(Object.class));
     }
+
     @Test
-    @DisplayName("Given Empty Persons List When FindAll Persons then Return Empty Persons List")
-    void testGivenEmptyPersonsList_WhenFindAllPersons_thenReturnEmptyPersonsList() {
+    @DisplayName("Given Duplicated Email Inside Batch When Create All then Throws Exception")
+    void testGivenDuplicatedEmailInsideBatch_WhenCreateAll_thenThrowsException() {
         // Given / Arrange
-        given(repository.findAll()).willReturn(Collections.emptyList());
+        Person duplicated = new Person(
+                "Leandro",
+                "Silva",
+                person0.getEmail(),
+                "Minas Gerais",
+                "Male");
 
         // When / Act
-        List<Person> personsList = services.findAll();
+        assertThrows(DuplicateEmailException.class,
+                () -> services.createAll(List.of(person0, duplicated).iterator()));
 
         // Then / Assert
-        assertTrue(personsList.isEmpty());
-        assertEquals(0, personsList.size());
+        verify(repository, never()).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Given No More Rows When FindAll Page then Return Empty Last Page")
+    void testGivenNoMoreRows_WhenFindAllPage_thenReturnEmptyLastPage() {
+        // Given / Arrange
+        given(repository.findDTOsByIdGreaterThan(10L, Limit.of(2)))
+                .willReturn(Collections.emptyList());
 
+        // When / Act
+        Slice<PersonDTO> page = services.findAll(10L, 1);
+
+        // Then / Assert
+        assertTrue(page.getContent().isEmpty());
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    @DisplayName("Given More Rows Than Page Size When FindAll Page then Return Page With Next")
+    void testGivenMoreRowsThanPageSize_WhenFindAllPage_thenReturnPageWithNext() {
+        // Given / Arrange
+        Person person1 = new Person(
+                "Maria",
+                "Costa",
+                "maria@erudio.com.br",
+                "Montes Verdes - Minas Gerais - Brasil",
+                "Female");
+
+        given(repository.findDTOsByIdGreaterThan(10L, Limit.of(2)))
+                .willReturn(List.of(PersonDTO.of(person0), PersonDTO.of(person1)));
+
+        // When / Act
+        Slice<PersonDTO> page = services.findAll(10L, 1);
+
+        // Then / Assert
+        assertEquals(1, page.getContent().size());
+        assertTrue(page.hasNext());
+    }
+
+    @Test
+    @DisplayName("Given Oversized Page Request When FindAll Page then Clamp Page Size")
+    void testGivenOversizedPageRequest_WhenFindAllPage_thenClampPageSize() {
+        // Given / Arrange
+        given(repository.findDTOsByIdGreaterThan(0L, Limit.of(PersonServices.MAX_PAGE_SIZE + 1)))
+                .willReturn(List.of(PersonDTO.of(person0)));
+
+        // When / Act
+        Slice<PersonDTO> page = services.findAll(null, Integer.MAX_VALUE);
+
+        // Then / Assert
+        assertEquals(1, page.getContent().size());
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    @DisplayName("Given Fields When FindAll Page then Select Id And Requested Fields Only")
+    void testGivenFields_WhenFindAllPage_thenSelectIdAndRequestedFieldsOnly() {
+        // Given / Arrange
+        Map<String, Object> row = Map.of("id", 1L, "email", person0.getEmail());
+        given(repository.findFieldsByIdGreaterThan(List.of("id", "email"), 0L, PersonServices.DEFAULT_PAGE_SIZE + 1))
+                .willReturn(List.of(row));
+
+        // When / Act
+        Slice<Map<String, Object>> page = services.findAll(null, PersonServices.DEFAULT_PAGE_SIZE, List.of(" email", "id"));
+
+        // Then / Assert
+        assertEquals(List.of(row), page.getContent());
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    @DisplayName("Given Unknown Field When FindAll Page then Throws Exception")
+    void testGivenUnknownField_WhenFindAllPage_thenThrowsException() {
+        // When / Act
+        assertThrows(BadRequestException.class,
+                () -> services.findAll(null, PersonServices.DEFAULT_PAGE_SIZE, List.of("email", "password")));
+
+        // Then / Assert
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Given Persons Stream When Export then Consume Each Person")
+    void testGivenPersonsStream_WhenExport_thenConsumeEachPerson() {
+        // Given / Arrange
+        Person person1 = new Person(
+                "Maria",
+                "Costa",
+                "maria@erudio.com.br",
+                "Montes Verdes - Minas Gerais - Brasil",
+                "Female");
+
+        given(repository.streamAllDTOs()).willReturn(Stream.of(PersonDTO.of(person0), PersonDTO.of(person1)));
+        List<PersonDTO> exported = new ArrayList<>();
+
+        // When / Act
+        services.export(exported::add);
+
+        // Then / Assert
+        assertEquals(List.of(PersonDTO.of(person0), PersonDTO.of(person1)), exported);
+        verifyNoInteractions(entityManager);
     }
 
     @Test
@@ -120,19 +298,83 @@ public class PersonServicesTest {
         // Then / Assert
         assertNotNull(savedPerson);
         assertEquals("Leandro", savedPerson.getFirstName());
+        assertFalse(ReplicaRouting.isPrimaryPinned());
+
+    }
+
+    @Test
+    @DisplayName("Given Recently Written Person Id When FindById then Read From Primary")
+    void testGivenRecentlyWrittenPersonId_WhenFindById_thenReadFromPrimary() {
+        // Given / Arrange
+        given(recentWrites.contains(1L)).willReturn(true);
+        given(repository.findById(1L)).willAnswer(invocation -> {
+            assertTrue(ReplicaRouting.isPrimaryPinned());
+            return Optional.of(person0);
+        });
 
+        // When / Act
+        Person savedPerson = services.findById(1L);
+
+        // Then / Assert
+        assertEquals("Leandro", savedPerson.getFirstName());
+        assertFalse(ReplicaRouting.isPrimaryPinned());
     }
+    @Test
+    @DisplayName("Given Search Hits When Search then Return People In Ranked Order")
+    void testGivenSearchHits_WhenSearch_thenReturnPeopleInRankedOrder() {
+        // Given / Arrange
+        PersonDTO person1 = PersonDTO.of(new Person(2L, "Maria", "Costa", "maria@erudio.com.br", "Minas Gerais", "Female"));
+        person0.setId(1L);
+        given(searchIndex.search("costa", 0L, 10)).willReturn(new PersonSearchIndex.Hits(List.of(2L, 1L), 12));
+        given(repository.findDTOsByIdIn(List.of(2L, 1L))).willReturn(List.of(PersonDTO.of(person0), person1));
+
+        // When / Act
+        Page<PersonDTO> results = services.search("costa", 0, 10);
+
+        // Then / Assert
+        assertEquals(List.of(person1, PersonDTO.of(person0)), results.getContent());
+        assertEquals(12, results.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Given Blank Query When Search then Throws Exception")
+    void testGivenBlankQuery_WhenSearch_thenThrowsException() {
+        // When / Act
+        assertThrows(BadRequestException.class, () -> services.search(" ", 0, 10));
+
+        // Then / Assert
+        verifyNoInteractions(searchIndex);
+    }
+
+    @Test
+    @DisplayName("Given Too Many Ids When FindByIds then Throws Exception")
+    void testGivenTooManyIds_WhenFindByIds_thenThrowsException() {
+        // Given / Arrange
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= PersonServices.MAX_LOOKUP_IDS + 1; id++) ids.add(id);
+
+        // When / Act
+        assertThrows(BadRequestException.class, () -> services.findByIds(ids));
+
+        // Then / Assert
+        verifyNoInteractions(repository, entityManager);
+    }
+
     @Test
     @DisplayName("Given Person Object When Update Person then Return Updated Person Object")
     void testGivenPersonObject_WhenUpdatePerson_thenReturnUpdatedPersonObject() {
         // Given / Arrange
         person0.setId(1L);
-        given(repository.findById(anyLong())).willReturn(Optional.of(person0));
-
         person0.setFirstName("Leonard");
         person0.setEmail("leonard@bigbang.com");
 
-        given(repository.save(any(Person.class))).willReturn(person0);
+        given(repository.updatePerson(1L, null, "Leonard", "Costa", "leonard@bigbang.com",
+                person0.getAddress(), person0.getGender())).willReturn(1);
+        given(repository.findVersionById(1L)).willReturn(4L);
+        // The outbox serializes the person while the event is published
+        List<Long> publishedVersions = new ArrayList<>();
+        doAnswer(invocation -> publishedVersions.add(invocation.<PersonChangedEvent>getArgument(0).person().getVersion()))
+                .when(events).publishEvent(any(Object.class));
 
         // When / Act
         Person updatedPerson = services.update(person0);
@@ -141,21 +383,106 @@ public class PersonServicesTest {
         assertNotNull(updatedPerson);
         assertEquals("Leonard", updatedPerson.getFirstName());
         assertEquals("leonard@bigbang.com", updatedPerson.getEmail());
+        assertEquals(4L, updatedPerson.getVersion());
+        verify(repository, never()).findById(anyLong());
+        verify(repository, never()).save(any(Person.class));
+        verify(events).publishEvent(PersonChangedEvent.updated(person0));
+        assertEquals(List.of(4L), publishedVersions);
+
+    }
+    @Test
+    @DisplayName("Given Nonexistent Person When Update Person then Throws Exception")
+    void testGivenNonexistentPerson_WhenUpdatePerson_thenThrowsException() {
+        // Given / Arrange
+        person0.setId(1L);
+        given(repository.updatePerson(anyLong(), isNull(), anyString(), anyString(), anyString(), anyString(), anyString()))
+                .willReturn(0);
+
+        // When / Act
+        assertThrows(ResourceNotFoundException.class,
+                () -> services.update(person0));
+
+    }
+    @Test
+    @DisplayName("Given Another Person's Email When Update Person then Throws Duplicate Email")
+    void testGivenAnotherPersonsEmail_WhenUpdatePerson_thenThrowsDuplicateEmail() {
+        // Given / Arrange
+        person0.setId(1L);
+        given(repository.updatePerson(anyLong(), isNull(), anyString(), anyString(), anyString(), anyString(), anyString()))
+                .willThrow(new DataIntegrityViolationException("could not execute statement",
+                        new SQLIntegrityConstraintViolationException(
+                                "Duplicate entry 'leandro@erudio.com.br' for key 'person.uk_person_email'")));
+
+        // When / Act
+        assertThrows(DuplicateEmailException.class,
+                () -> services.update(person0));
 
+        // Then / Assert
+        verify(events, never()).publishEvent(any(Object.class));
+    }
+    @Test
+    @DisplayName("Given Matching Version When Update Person then Return Next Version")
+    void testGivenMatchingVersion_WhenUpdatePerson_thenReturnNextVersion() {
+        // Given / Arrange
+        person0.setId(1L);
+        person0.setVersion(3L);
+        given(repository.updatePerson(eq(1L), eq(3L), anyString(), anyString(), anyString(), anyString(), anyString()))
+                .willReturn(1);
+
+        // When / Act
+        Person updatedPerson = services.update(person0);
+
+        // Then / Assert
+        assertEquals(4L, updatedPerson.getVersion());
+        verify(repository, never()).findVersionById(anyLong());
+    }
+    @Test
+    @DisplayName("Given Stale Version When Update Person then Throws Precondition Failed")
+    void testGivenStaleVersion_WhenUpdatePerson_thenThrowsPreconditionFailed() {
+        // Given / Arrange
+        person0.setId(1L);
+        person0.setVersion(3L);
+        given(repository.updatePerson(eq(1L), eq(3L), anyString(), anyString(), anyString(), anyString(), anyString()))
+                .willReturn(0);
+        given(repository.existsById(1L)).willReturn(true);
+
+        // When / Act
+        assertThrows(PreconditionFailedException.class,
+                () -> services.update(person0));
+    }
+    @Test
+    @DisplayName("Given Stale Version When Delete Person then Throws Precondition Failed")
+    void testGivenStaleVersion_WhenDeletePerson_thenThrowsPreconditionFailed() {
+        // Given / Arrange
+        given(repository.deletePersonById(1L, 3L)).willReturn(0);
+        given(repository.existsById(1L)).willReturn(true);
+
+        // When / Act
+        assertThrows(PreconditionFailedException.class,
+                () -> services.delete(1L, 3L));
     }
     @Test
     @DisplayName("Given PersonId When Delete Person then Do Nothing")
     void testGivenPersonId_WhenDeletePerson_thenDoNothing() {
         // Given / Arrange
-        person0.setId(1L);
-        given(repository.findById(anyLong())).willReturn(Optional.of(person0));
-        willDoNothing().given(repository).delete(person0);
+        given(repository.deletePersonById(1L, null)).willReturn(1);
 
         // When / Act
-        services.delete(person0.getId());
+        services.delete(1L, null);
 
         // Then / Assert
-        verify(repository, times(1)).delete(person0);
+        verify(repository, times(1)).deletePersonById(1L, null);
+        verify(repository, never()).findById(anyLong());
+    }
+    @Test
+    @DisplayName("Given Nonexistent PersonId When Delete Person then Throws Exception")
+    void testGivenNonexistentPersonId_WhenDeletePerson_thenThrowsException() {
+        // Given / Arrange
+        given(repository.deletePersonById(1L, null)).willReturn(0);
+
+        // When / Act
+        assertThrows(ResourceNotFoundException.class,
+                () -> services.delete(1L, null));
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,184 @@
+package br.com.erudio.services;
+
+import br.com.erudio.dto.WriteStatus;
+import br.com.erudio.dto.WriteStatus.Operation;
+import br.com.erudio.dto.WriteStatus.State;
+import br.com.erudio.exceptions.DuplicateEmailException;
+import br.com.erudio.exceptions.ServiceUnavailableException;
+import br.com.erudio.exceptions.TooManyRequestsException;
+import br.com.erudio.model.Person;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PersonWriteBehindTest {
+
+    @Mock
+    private PersonServices services;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PersonWriteBehind writeBehind;
+
+    private final AtomicLong ids = new AtomicLong();
+
+    @BeforeEach
+    void setup() {
+        // Given / Arrange
+        writeBehind = new PersonWriteBehind(services, transactionManager, 3, 10,
+                Duration.ofMinutes(1), Duration.ofSeconds(10));
+    }
+
+    @Test
+    @DisplayName("Given Queued Creates When Drain then Write Them In One Transaction")
+    void testGivenQueuedCreates_WhenDrain_thenWriteThemInOneTransaction() throws Exception {
+        // Given / Arrange
+        given(services.create(any(Person.class))).willAnswer(invocation -> saved(invocation.getArgument(0)));
+        WriteStatus first = writeBehind.submit(Operation.CREATE, person("ana@erudio.com.br"));
+        WriteStatus second = writeBehind.submit(Operation.CREATE, person("bia@erudio.com.br"));
+        assertEquals(State.QUEUED, writeBehind.status(first.trackingId()).orElseThrow().state());
+
+        // When / Act
+        int written = writeBehind.drain(0, TimeUnit.MILLISECONDS);
+
+        // Then / Assert
+        assertEquals(2, written);
+        verify(transactionManager, times(1)).getTransaction(any());
+        verify(transactionManager, times(1)).commit(any());
+        assertEquals(State.WRITTEN, writeBehind.status(first.trackingId()).orElseThrow().state());
+        assertEquals(2L, writeBehind.status(second.trackingId()).orElseThrow().personId());
+    }
+
+    @Test
+    @DisplayName("Given Failing Write In Batch When Drain then Fail Only That Write")
+    void testGivenFailingWriteInBatch_WhenDrain_thenFailOnlyThatWrite() throws Exception {
+        // Given / Arrange
+        given(services.create(any(Person.class))).willAnswer(invocation -> saved(invocation.getArgument(0)));
+        given(services.create(argThat(person -> person != null && "dup@erudio.com.br".equals(person.getEmail()))))
+                .willThrow(new DuplicateEmailException("Person already exists with given e-mail: dup@erudio.com.br"));
+        WriteStatus good = writeBehind.submit(Operation.CREATE, person("ana@erudio.com.br"));
+        WriteStatus bad = writeBehind.submit(Operation.CREATE, person("dup@erudio.com.br"));
+
+        // When / Act
+        writeBehind.drain(0, TimeUnit.MILLISECONDS);
+
+        // Then / Assert
+        verify(transactionManager, times(3)).getTransaction(any());
+        assertEquals(State.WRITTEN, writeBehind.status(good.trackingId()).orElseThrow().state());
+        WriteStatus failed = writeBehind.status(bad.trackingId()).orElseThrow();
+        assertEquals(State.FAILED, failed.state());
+        assertTrue(failed.error().contains("already exists"));
+    }
+
+    @Test
+    @DisplayName("Given Full Queue When Submit then Throws Exception")
+    void testGivenFullQueue_WhenSubmit_thenThrowsException() {
+        // Given / Arrange
+        for (int i = 0; i < 3; i++) {
+            writeBehind.submit(Operation.CREATE, person(i + "@erudio.com.br"));
+        }
+
+        // When / Act
+        TooManyRequestsException e = assertThrows(TooManyRequestsException.class,
+                () -> writeBehind.submit(Operation.CREATE, person("late@erudio.com.br")));
+
+        // Then / Assert
+        assertEquals(PersonWriteBehind.RETRY_AFTER_SECONDS, e.getRetryAfterSeconds());
+        assertEquals(3, writeBehind.queued());
+    }
+
+    @Test
+    @DisplayName("Given Queued Writes When Shutdown then Drain Them Before Returning")
+    void testGivenQueuedWrites_WhenShutdown_thenDrainThemBeforeReturning() throws Exception {
+        // Given / Arrange
+        given(services.update(any(Person.class))).willAnswer(invocation -> invocation.getArgument(0));
+        writeBehind.start();
+        Person person = person("ana@erudio.com.br");
+        person.setId(7L);
+        WriteStatus update = writeBehind.submit(Operation.UPDATE, person);
+
+        // When / Act
+        writeBehind.stop();
+
+        // Then / Assert
+        assertEquals(0, writeBehind.queued());
+        assertEquals(State.WRITTEN, writeBehind.status(update.trackingId()).orElseThrow().state());
+        assertThrows(ServiceUnavailableException.class,
+                () -> writeBehind.submit(Operation.CREATE, person("late@erudio.com.br")));
+    }
+
+    @Test
+    @DisplayName("Given Writes Submitted During Shutdown When Stop then Write Every Accepted One")
+    void testGivenWritesSubmittedDuringShutdown_WhenStop_thenWriteEveryAcceptedOne() throws Exception {
+        // Given / Arrange
+        writeBehind = new PersonWriteBehind(services, transactionManager, 100_000, 10,
+                Duration.ofMinutes(1), Duration.ofSeconds(30));
+        given(services.create(any(Person.class))).willAnswer(invocation -> saved(invocation.getArgument(0)));
+        writeBehind.start();
+        List<WriteStatus> accepted = new CopyOnWriteArrayList<>();
+        ExecutorService submitters = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            int thread = t;
+            submitters.execute(() -> {
+                for (int i = 0; ; i++) {
+                    try {
+                        accepted.add(writeBehind.submit(Operation.CREATE, person(thread + "-" + i + "@erudio.com.br")));
+                    } catch (ServiceUnavailableException e) {
+                        return;
+                    }
+                }
+            });
+        }
+        // Stops while the submitters are busy
+        while (accepted.size() < 1_000) {
+            Thread.sleep(1);
+        }
+
+        // When / Act
+        writeBehind.stop();
+        submitters.shutdown();
+        assertTrue(submitters.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Then / Assert
+        assertEquals(0, writeBehind.queued());
+        for (WriteStatus status : accepted) {
+            assertEquals(State.WRITTEN, writeBehind.status(status.trackingId()).orElseThrow().state());
+        }
+    }
+
+    @Test
+    @DisplayName("Given Unknown Tracking Id When Status then Return Empty")
+    void testGivenUnknownTrackingId_WhenStatus_thenReturnEmpty() {
+        // When / Act / Then / Assert
+        assertTrue(writeBehind.status("unknown").isEmpty());
+    }
+
+    private Person saved(Person person) {
+        person.setId(ids.incrementAndGet());
+        return person;
+    }
+
+    private static Person person(String email) {
+        return new Person("Leandro", "Costa", email, "Uberlândia - Minas Gerais - Brasil", "Male");
+    }
+}
@@ -0,0 +1,165 @@
+package br.com.erudio.services;
+
+import br.com.erudio.exceptions.DuplicateEmailException;
+import br.com.erudio.exceptions.PreconditionFailedException;
+import br.com.erudio.exceptions.ResourceNotFoundException;
+import br.com.erudio.model.Person;
+import br.com.erudio.repositories.ReactivePersonIdAllocator;
+import br.com.erudio.repositories.ReactivePersonRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ReactivePersonServicesTest {
+
+    @Mock
+    private ReactivePersonRepository repository;
+
+    @Mock
+    private ReactivePersonIdAllocator idAllocator;
+
+    @InjectMocks
+    private ReactivePersonServices services;
+
+    private Person person0;
+
+    @BeforeEach
+    void setup() {
+        // Given / Arrange
+        person0 = new Person(
+                "Leandro",
+                "Costa",
+                "leandro@erudio.com.br",
+                "Uberlândia - Minas Gerais - Brasil",
+                "Male");
+    }
+
+    @Test
+    @DisplayName("Given Person Object When Save Person then Return Person With Allocated Id")
+    void testGivenPersonObject_WhenSavePerson_thenReturnPersonWithAllocatedId() {
+        // Given / Arrange
+        given(repository.findByEmail(anyString())).willReturn(Mono.empty());
+        given(idAllocator.nextId()).willReturn(Mono.just(42L));
+        given(repository.insert(any(Person.class))).willAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // When / Act / Then / Assert
+        StepVerifier.create(services.create(person0))
+                .expectNextMatches(saved -> saved.getId() == 42L && saved.getFirstName().equals("Leandro"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Given Existing Email When Save Person then Emit Error")
+    void testGivenExistingEmail_WhenSavePerson_thenEmitError() {
+        // Given / Arrange
+        given(repository.findByEmail(anyString())).willReturn(Mono.just(person0));
+
+        // When / Act / Then / Assert
+        StepVerifier.create(services.create(person0))
+                .expectError(DuplicateEmailException.class)
+                .verify();
+        verify(idAllocator, never()).nextId();
+    }
+
+    @Test
+    @DisplayName("Given Persons When FindAll Persons then Emit Each Person")
+    void testGivenPersons_WhenFindAllPersons_thenEmitEachPerson() {
+        // Given / Arrange
+        Person person1 = new Person(
+                "Maria",
+                "Costa",
+                "maria@erudio.com.br",
+                "Montes Verdes - Minas Gerais - Brasil",
+                "Female");
+        given(repository.findAll()).willReturn(Flux.just(person0, person1));
+
+        // When / Act / Then / Assert
+        StepVerifier.create(services.findAll(), 1)
+                .expectNext(person0)
+                .thenRequest(1)
+                .expectNext(person1)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Given Nonexistent Id When FindById then Emit Not Found")
+    void testGivenNonexistentId_WhenFindById_thenEmitNotFound() {
+        // Given / Arrange
+        given(repository.findById(1L)).willReturn(Mono.empty());
+
+        // When / Act / Then / Assert
+        StepVerifier.create(services.findById(1L))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Given Stale Version When Update Person then Emit Precondition Failed")
+    void testGivenStaleVersion_WhenUpdatePerson_thenEmitPreconditionFailed() {
+        // Given / Arrange
+        person0.setId(1L);
+        person0.setVersion(3L);
+        given(repository.updatePerson(person0)).willReturn(Mono.just(0L));
+        given(repository.findById(1L)).willReturn(Mono.just(person0));
+
+        // When / Act / Then / Assert
+        StepVerifier.create(services.update(person0))
+                .expectError(PreconditionFailedException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Given No Expected Version When Update Person then Return The Stored Version")
+    void testGivenNoExpectedVersion_WhenUpdatePerson_thenReturnTheStoredVersion() {
+        // Given / Arrange
+        person0.setId(1L);
+        given(repository.updatePerson(person0)).willReturn(Mono.just(1L));
+        given(repository.findVersionById(1L)).willReturn(Mono.just(4L));
+
+        // When / Act / Then / Assert
+        StepVerifier.create(services.update(person0))
+                .expectNextMatches(updated -> updated.getVersion() == 4L)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Given Expected Version When Update Person then Return The Next Version")
+    void testGivenExpectedVersion_WhenUpdatePerson_thenReturnTheNextVersion() {
+        // Given / Arrange
+        person0.setId(1L);
+        person0.setVersion(3L);
+        given(repository.updatePerson(person0)).willReturn(Mono.just(1L));
+
+        // When / Act / Then / Assert
+        StepVerifier.create(services.update(person0))
+                .expectNextMatches(updated -> updated.getVersion() == 4L)
+                .verifyComplete();
+        verify(repository, never()).findVersionById(any());
+    }
+
+    @Test
+    @DisplayName("Given Nonexistent Id When Delete Person then Emit Not Found")
+    void testGivenNonexistentId_WhenDeletePerson_thenEmitNotFound() {
+        // Given / Arrange
+        given(repository.deleteById(1L)).willReturn(Mono.just(0L));
+
+        // When / Act / Then / Assert
+        StepVerifier.create(services.delete(1L))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+    }
+}